@@ -0,0 +1,6 @@
+package com.example.imbank.gateway.accesslog;
+
+// Raw facts about one request, captured on the event loop; formatting happens on the writer thread
+record AccessLogEntry(long timestampMillis, String method, String path, String route, String upstream,
+                      int status, long latencyMillis, long bytes, String client, String outcome, String cache) {
+}
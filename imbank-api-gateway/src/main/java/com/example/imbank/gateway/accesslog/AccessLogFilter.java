@@ -0,0 +1,120 @@
+package com.example.imbank.gateway.accesslog;
+
+import com.example.imbank.gateway.config.AccessLogProperties;
+import com.example.imbank.gateway.filter.ResponseCacheGatewayFilterFactory;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// One access-log line per request: route, upstream instance, status, latency and bytes sent. Runs
+// as a WebFilter so gateway controllers (BFF, fallback) are covered as well as routes. Ordinary
+// requests are sampled; errors and slow requests are always kept. The request thread only builds a
+// small record and hands it to AccessLogWriter's ring buffer.
+@Component
+public class AccessLogFilter implements WebFilter, Ordered {
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter writer;
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+        this.properties = properties;
+        this.writer = writer;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long startNanos = System.nanoTime();
+        long timestamp = System.currentTimeMillis();
+        ByteCountingResponse response = new ByteCountingResponse(exchange.getResponse());
+        ServerWebExchange counted = exchange.mutate().response(response).build();
+
+        return chain.filter(counted).doFinally(signal -> {
+            long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            HttpStatusCode statusCode = response.getStatusCode();
+            // an error signal here is turned into a 500 by the exception handlers further out
+            int status = signal == SignalType.ON_ERROR ? 500 : statusCode != null ? statusCode.value() : 200;
+            boolean keep = status >= properties.getErrorStatus()
+                    || signal != SignalType.ON_COMPLETE
+                    || latencyMillis >= properties.getSlowThreshold().toMillis()
+                    || ThreadLocalRandom.current().nextDouble() < properties.getSampleRate();
+            if (keep) {
+                writer.offer(entry(counted, timestamp, status, latencyMillis, response.bytes.get(), signal));
+            }
+        });
+    }
+
+    private static AccessLogEntry entry(ServerWebExchange exchange, long timestamp, int status, long latencyMillis,
+                                        long bytes, SignalType signal) {
+        ServerHttpRequest request = exchange.getRequest();
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI upstream = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        InetSocketAddress remote = request.getRemoteAddress();
+        String outcome = switch (signal) {
+            case ON_COMPLETE -> "ok";
+            case CANCEL -> "cancelled";
+            default -> "error";
+        };
+        return new AccessLogEntry(
+                timestamp,
+                request.getMethod().name(),
+                // no query string, it can carry personal data
+                request.getPath().value(),
+                route != null ? route.getId() : "-",
+                upstream != null && upstream.getHost() != null ? upstream.getHost() + ":" + upstream.getPort() : "-",
+                status,
+                latencyMillis,
+                bytes,
+                remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : "-",
+                outcome,
+                exchange.getResponse().getHeaders().getFirst(ResponseCacheGatewayFilterFactory.CACHE_HEADER));
+    }
+
+    private static final class ByteCountingResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        ByteCountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).map(inner -> Flux.from(inner)
+                    .doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.imbank.gateway.accesslog;
+
+import com.example.imbank.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Single background thread that drains the ring and writes one key=value line per entry to the
+// "imbank.access" logger, keeping string building and appender I/O off the Netty event loops.
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("imbank.access");
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AccessLogRingBuffer<AccessLogEntry> buffer;
+    private final Counter dropped;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = new AccessLogRingBuffer<>(properties.getBufferSize());
+        this.dropped = meterRegistry.counter("gateway.access_log.dropped");
+        this.thread = Thread.ofPlatform().daemon().name("access-log-writer").start(this::drain);
+    }
+
+    void offer(AccessLogEntry entry) {
+        if (!buffer.offer(entry)) {
+            dropped.increment();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(thread);
+        thread.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    private void drain() {
+        StringBuilder line = new StringBuilder(256);
+        while (true) {
+            AccessLogEntry entry = buffer.poll();
+            if (entry == null) {
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+                continue;
+            }
+            try {
+                line.setLength(0);
+                accessLog.info(format(entry, line));
+            } catch (RuntimeException e) {
+                // a broken appender must not kill the writer
+            }
+        }
+    }
+
+    private static String format(AccessLogEntry entry, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(entry.timestampMillis()))
+                .append(" method=").append(entry.method())
+                .append(" path=").append(entry.path())
+                .append(" route=").append(entry.route())
+                .append(" upstream=").append(entry.upstream())
+                .append(" status=").append(entry.status())
+                .append(" latency_ms=").append(entry.latencyMillis())
+                .append(" bytes=").append(entry.bytes())
+                .append(" client=").append(entry.client())
+                .append(" outcome=").append(entry.outcome());
+        if (entry.cache() != null) {
+            line.append(" cache=").append(entry.cache());
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.imbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "imbank.gateway.bff")
+public class BffProperties {
+    // per part of an aggregated response, keyed by part name; a part that times out is left out
+    private Map<String, Duration> timeouts = new HashMap<>();
+    private Duration defaultTimeout = Duration.ofSeconds(3);
+    // largest part body held in memory; a bigger one is reported as an error for that part only
+    private int maxPartBytes = 4 * 1024 * 1024;
+
+    public Map<String, Duration> getTimeouts() {
+        return timeouts;
+    }
+
+    public void setTimeouts(Map<String, Duration> timeouts) {
+        this.timeouts = timeouts;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public int getMaxPartBytes() {
+        return maxPartBytes;
+    }
+
+    public void setMaxPartBytes(int maxPartBytes) {
+        this.maxPartBytes = maxPartBytes;
+    }
+
+    public Duration timeoutFor(String part) {
+        return timeouts.getOrDefault(part, defaultTimeout);
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.imbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "imbank.gateway.hedging")
+public class HedgingProperties {
+    // the hedge fires once the primary has taken longer than this latency percentile of the route
+    private double percentile = 0.95;
+    // used until the route has enough samples for a percentile
+    private Duration initialDelay = Duration.ofMillis(100);
+    private Duration minDelay = Duration.ofMillis(10);
+    private long minSamples = 100;
+    // hedges allowed as a percentage of requests on the route
+    private int budgetPercent = 5;
+    private int minHedgesPerSecond = 1;
+    private int maxBodyBytes = 2 * 1024 * 1024;
+
+    public double getPercentile() {
+        return percentile;
+    }
+
+    public void setPercentile(double percentile) {
+        this.percentile = percentile;
+    }
+
+    public Duration getInitialDelay() {
+        return initialDelay;
+    }
+
+    public void setInitialDelay(Duration initialDelay) {
+        this.initialDelay = initialDelay;
+    }
+
+    public Duration getMinDelay() {
+        return minDelay;
+    }
+
+    public void setMinDelay(Duration minDelay) {
+        this.minDelay = minDelay;
+    }
+
+    public long getMinSamples() {
+        return minSamples;
+    }
+
+    public void setMinSamples(long minSamples) {
+        this.minSamples = minSamples;
+    }
+
+    public int getBudgetPercent() {
+        return budgetPercent;
+    }
+
+    public void setBudgetPercent(int budgetPercent) {
+        this.budgetPercent = budgetPercent;
+    }
+
+    public int getMinHedgesPerSecond() {
+        return minHedgesPerSecond;
+    }
+
+    public void setMinHedgesPerSecond(int minHedgesPerSecond) {
+        this.minHedgesPerSecond = minHedgesPerSecond;
+    }
+
+    public int getMaxBodyBytes() {
+        return maxBodyBytes;
+    }
+
+    public void setMaxBodyBytes(int maxBodyBytes) {
+        this.maxBodyBytes = maxBodyBytes;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.imbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "imbank.gateway.load-balancer")
+public class LatencyAwareProperties {
+    // how far back latency samples still matter (EWMA time constant)
+    private Duration decay = Duration.ofSeconds(10);
+    // a new instance ramps from min-weight to full share over this window
+    private Duration slowStart = Duration.ofSeconds(30);
+    private double minWeight = 0.1;
+    // recorded as the latency of a failed call
+    private Duration failurePenalty = Duration.ofSeconds(1);
+
+    public Duration getDecay() {
+        return decay;
+    }
+
+    public void setDecay(Duration decay) {
+        this.decay = decay;
+    }
+
+    public Duration getSlowStart() {
+        return slowStart;
+    }
+
+    public void setSlowStart(Duration slowStart) {
+        this.slowStart = slowStart;
+    }
+
+    public double getMinWeight() {
+        return minWeight;
+    }
+
+    public void setMinWeight(double minWeight) {
+        this.minWeight = minWeight;
+    }
+
+    public Duration getFailurePenalty() {
+        return failurePenalty;
+    }
+
+    public void setFailurePenalty(Duration failurePenalty) {
+        this.failurePenalty = failurePenalty;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.imbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "imbank.metrics")
+public class MetricsProperties {
+    // HTTP Basic credentials Prometheus uses for /actuator/prometheus; blank password keeps it closed
+    private String scrapeUsername = "prometheus";
+    private String scrapePassword;
+
+    public String getScrapeUsername() {
+        return scrapeUsername;
+    }
+
+    public void setScrapeUsername(String scrapeUsername) {
+        this.scrapeUsername = scrapeUsername;
+    }
+
+    public String getScrapePassword() {
+        return scrapePassword;
+    }
+
+    public void setScrapePassword(String scrapePassword) {
+        this.scrapePassword = scrapePassword;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.imbank.gateway.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "imbank.gateway.rate-limit")
+public class RateLimitProperties {
+    // upper bound on tracked buckets across all routes; keys beyond it share one overflow bucket per route
+    private int maxBuckets = 100_000;
+    // a bucket untouched for this long is refilled anyway, so dropping it loses nothing
+    private Duration idleTimeout = Duration.ofMinutes(5);
+    // used by routes that enable RequestRateLimiter without in-memory-rate-limiter.* args
+    private int defaultReplenishRate = 50;
+    private int defaultBurstCapacity = 100;
+
+    public int getMaxBuckets() {
+        return maxBuckets;
+    }
+
+    public void setMaxBuckets(int maxBuckets) {
+        this.maxBuckets = maxBuckets;
+    }
+
+    public Duration getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    public void setIdleTimeout(Duration idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    public int getDefaultReplenishRate() {
+        return defaultReplenishRate;
+    }
+
+    public void setDefaultReplenishRate(int defaultReplenishRate) {
+        this.defaultReplenishRate = defaultReplenishRate;
+    }
+
+    public int getDefaultBurstCapacity() {
+        return defaultBurstCapacity;
+    }
+
+    public void setDefaultBurstCapacity(int defaultBurstCapacity) {
+        this.defaultBurstCapacity = defaultBurstCapacity;
+    }
+}
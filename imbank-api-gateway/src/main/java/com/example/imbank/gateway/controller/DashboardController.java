@@ -0,0 +1,150 @@
+package com.example.imbank.gateway.controller;
+
+import com.example.imbank.gateway.config.BffProperties;
+import org.springframework.cloud.client.circuitbreaker.ReactiveCircuitBreakerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+// Backend-for-frontend: everything the dashboard page needs in one round trip. The three service
+// calls run in parallel, each with its own timeout and behind the same circuit breaker as its
+// route; a part that fails is reported under "errors" and the rest is still returned. Only a
+// rejected caller (401/403 from auth-service) fails the whole response.
+@RestController
+@RequestMapping("/api/bff")
+public class DashboardController {
+
+    private final WebClient webClient;
+    private final ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory;
+    private final BffProperties properties;
+
+    // Boot's builder brings the codec and observation setup; cloned so the shared one is left untouched
+    public DashboardController(WebClient.Builder webClientBuilder,
+                               ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                               ReactiveCircuitBreakerFactory<?, ?> circuitBreakerFactory,
+                               BffProperties properties) {
+        this.webClient = webClientBuilder.clone()
+                .filter(loadBalancerFunction)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxPartBytes()))
+                .build();
+        this.circuitBreakerFactory = circuitBreakerFactory;
+        this.properties = properties;
+    }
+
+    @GetMapping("/dashboard")
+    public Mono<ResponseEntity<Map<String, Object>>> dashboard(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "id") String sortBy,
+            @RequestParam(defaultValue = "asc") String sortDir) {
+        Mono<Part> me = fetch("me", "auth-service",
+                uri("auth-service", "/api/auth/me").build().toUri(), authorization);
+        Mono<Part> departments = fetch("departments", "department-service",
+                uri("department-service", "/api/departments").build().toUri(), authorization);
+        Mono<Part> employees = fetch("employees", "employee-service",
+                uri("employee-service", "/api/employees/paginated")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .queryParam("sortBy", sortBy)
+                        .queryParam("sortDir", sortDir)
+                        .encode()
+                        .build()
+                        .toUri(),
+                authorization);
+
+        return Mono.zip(me, departments, employees).map(parts -> {
+            Part user = parts.getT1();
+            if (user.status() == HttpStatus.UNAUTHORIZED.value() || user.status() == HttpStatus.FORBIDDEN.value()) {
+                return ResponseEntity.status(user.status()).body(user.error());
+            }
+            Map<String, Object> body = new LinkedHashMap<>();
+            Map<String, Object> errors = new LinkedHashMap<>();
+            for (Part part : new Part[]{user, parts.getT2(), parts.getT3()}) {
+                body.put(part.name(), part.body());
+                if (part.error() != null) {
+                    errors.put(part.name(), part.error());
+                }
+            }
+            body.put("partial", !errors.isEmpty());
+            if (!errors.isEmpty()) {
+                body.put("errors", errors);
+            }
+            return ResponseEntity.ok(body);
+        });
+    }
+
+    // never errors: a failed part becomes a Part carrying the error instead of a body
+    private Mono<Part> fetch(String name, String serviceId, URI uri, String authorization) {
+        Mono<Part> call = webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(Object.class)
+                .map(body -> new Part(name, HttpStatus.OK.value(), body, null))
+                // an oversized body says nothing about the service's health, keep it out of the breaker
+                .onErrorResume(DashboardController::tooLarge, error -> Mono.just(failed(name, serviceId, error)))
+                .timeout(properties.timeoutFor(name));
+        return circuitBreakerFactory.create(serviceId)
+                .run(call, error -> Mono.just(failed(name, serviceId, error)));
+    }
+
+    // the host is the Eureka service id, resolved by the load balancer filter
+    private static UriComponentsBuilder uri(String serviceId, String path) {
+        return UriComponentsBuilder.newInstance().scheme("http").host(serviceId).path(path);
+    }
+
+    private static Part failed(String name, String serviceId, Throwable error) {
+        int status;
+        String message;
+        if (error instanceof WebClientResponseException response) {
+            status = response.getStatusCode().value();
+            message = serviceId + " answered " + status;
+        } else if (tooLarge(error)) {
+            status = HttpStatus.BAD_GATEWAY.value();
+            message = serviceId + " returned more than the dashboard can hold";
+        } else if (error instanceof TimeoutException) {
+            status = HttpStatus.GATEWAY_TIMEOUT.value();
+            message = serviceId + " did not respond in time";
+        } else {
+            status = HttpStatus.SERVICE_UNAVAILABLE.value();
+            message = serviceId + " is unavailable";
+        }
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("status", status);
+        details.put("message", message);
+        return new Part(name, status, null, details);
+    }
+
+    private static boolean tooLarge(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataBufferLimitException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Part(String name, int status, Object body, Map<String, Object> error) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.imbank.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.reset;
+
+// Retries idempotent requests that failed before any response reached the client (connection
+// refused, connect/response timeout, instance gone), each retry paid for from a per-route
+// RequestBudget. When the budget is spent the original error is returned at once.
+//
+//   filters:
+//     - name: BudgetedRetry
+//       args:
+//         retries: 2
+//         backoff: 50ms
+//         budget-percent: 20
+//         min-retries-per-second: 5
+@Component
+public class BudgetedRetryGatewayFilterFactory extends AbstractGatewayFilterFactory<BudgetedRetryGatewayFilterFactory.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(BudgetedRetryGatewayFilterFactory.class);
+    private static final List<HttpMethod> IDEMPOTENT = List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RequestBudget> budgets = new ConcurrentHashMap<>();
+
+    public BudgetedRetryGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            if (!IDEMPOTENT.contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            String routeId = ResponseCacheGatewayFilterFactory.routeId(exchange);
+            RequestBudget budget = budgets.computeIfAbsent(routeId,
+                    id -> new RequestBudget(config.getBudgetPercent(), config.getMinRetriesPerSecond()));
+            budget.recordRequest();
+            return attempt(exchange, chain, config, budget, routeId, 0);
+        };
+    }
+
+    private Mono<Void> attempt(ServerWebExchange exchange, GatewayFilterChain chain, Config config,
+                               RequestBudget budget, String routeId, int retry) {
+        return Mono.defer(() -> chain.filter(exchange)).onErrorResume(error -> {
+            if (exchange.getResponse().isCommitted() || retry >= config.getRetries()) {
+                return Mono.error(error);
+            }
+            if (!budget.tryAcquire()) {
+                meterRegistry.counter("gateway.retry.budget.exhausted", "route", routeId).increment();
+                log.debug("Retry budget for route {} exhausted, not retrying {}", routeId, error.toString());
+                return Mono.error(error);
+            }
+            meterRegistry.counter("gateway.retry.attempts", "route", routeId).increment();
+            log.debug("Retrying {} on route {} (retry {}) after {}", exchange.getRequest().getPath(), routeId,
+                    retry + 1, error.toString());
+            // clears the chosen instance and routed flag so the load balancer picks again
+            reset(exchange);
+            return Mono.delay(config.getBackoff())
+                    .then(attempt(exchange, chain, config, budget, routeId, retry + 1));
+        });
+    }
+
+    public static class Config {
+        private int retries = 2;
+        private Duration backoff = Duration.ofMillis(50);
+        // retries allowed as a percentage of first attempts on the route
+        private int budgetPercent = 20;
+        private int minRetriesPerSecond = 5;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public Duration getBackoff() {
+            return backoff;
+        }
+
+        public void setBackoff(Duration backoff) {
+            this.backoff = backoff;
+        }
+
+        public int getBudgetPercent() {
+            return budgetPercent;
+        }
+
+        public void setBudgetPercent(int budgetPercent) {
+            this.budgetPercent = budgetPercent;
+        }
+
+        public int getMinRetriesPerSecond() {
+            return minRetriesPerSecond;
+        }
+
+        public void setMinRetriesPerSecond(int minRetriesPerSecond) {
+            this.minRetriesPerSecond = minRetriesPerSecond;
+        }
+    }
+}
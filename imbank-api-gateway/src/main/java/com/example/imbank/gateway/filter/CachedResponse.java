@@ -0,0 +1,85 @@
+package com.example.imbank.gateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+// Complete upstream response held in memory so it can be replayed to other callers
+public final class CachedResponse {
+
+    private final HttpStatusCode status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final long createdAtMillis = System.currentTimeMillis();
+
+    private CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        this.status = status;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    static CachedResponse of(ServerHttpResponse response, byte[] body) {
+        HttpHeaders copy = new HttpHeaders();
+        response.getHeaders().forEach((name, values) -> {
+            if (isReplayable(name)) {
+                copy.addAll(name, values);
+            }
+        });
+        HttpStatusCode status = response.getStatusCode() != null ? response.getStatusCode() : HttpStatus.OK;
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(copy), body);
+    }
+
+    public HttpStatusCode getStatus() {
+        return status;
+    }
+
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    public String getEtag() {
+        return headers.getETag();
+    }
+
+    public long ageSeconds() {
+        return (System.currentTimeMillis() - createdAtMillis) / 1000;
+    }
+
+    Mono<Void> writeTo(ServerHttpRequest request, ServerHttpResponse response) {
+        headers.forEach((name, values) -> response.getHeaders().put(name, values));
+
+        String etag = getEtag();
+        if (etag != null && request.getHeaders().getIfNoneMatch().contains(etag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            response.getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentLength(body.length);
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(body)));
+    }
+
+    // per-connection, per-origin and per-exchange headers belong to the original exchange only; the
+    // replaying exchange sets its own X-Cache, Age, rate-limit and hedging headers
+    private static boolean isReplayable(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        return !lower.startsWith("access-control-")
+                && !lower.startsWith("x-ratelimit-")
+                && !lower.startsWith("x-sql-")
+                && !lower.equals("x-cache")
+                && !lower.equals("x-hedged")
+                && !lower.equals("x-coalesced")
+                && !lower.equals("age")
+                && !lower.equals("transfer-encoding")
+                && !lower.equals("connection")
+                && !lower.equals("content-length")
+                && !lower.equals("set-cookie")
+                && !lower.equals("date");
+    }
+}
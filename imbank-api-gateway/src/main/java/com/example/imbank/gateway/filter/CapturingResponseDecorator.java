@@ -0,0 +1,84 @@
+package com.example.imbank.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// Streams the upstream body to the client unchanged while keeping a copy of it for each capture
+// registered on it, each up to its own size limit. A copy is handed over once the body has been
+// written completely. With no capture registered the body passes straight through.
+class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final List<Registration> registrations = new ArrayList<>(1);
+
+    CapturingResponseDecorator(ServerHttpResponse delegate) {
+        super(delegate);
+    }
+
+    void capture(int maxBytes, Predicate<ServerHttpResponse> capturable, Consumer<CachedResponse> onCaptured) {
+        registrations.add(new Registration(maxBytes, capturable, onCaptured));
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        // status and headers are final by the time the body is written
+        List<Capture> captures = registrations.stream()
+                .filter(registration -> registration.capturable().test(getDelegate()))
+                .map(Capture::new)
+                .toList();
+        if (captures.isEmpty()) {
+            return super.writeWith(body);
+        }
+        Flux<DataBuffer> teed = Flux.from(body).doOnNext(buffer -> captures.forEach(capture -> capture.append(buffer)));
+        return super.writeWith(teed).doOnSuccess(done -> {
+            for (Capture capture : captures) {
+                if (!capture.overflowed) {
+                    capture.registration.onCaptured()
+                            .accept(CachedResponse.of(getDelegate(), capture.bytes.toByteArray()));
+                }
+            }
+        });
+    }
+
+    private record Registration(int maxBytes, Predicate<ServerHttpResponse> capturable,
+                                Consumer<CachedResponse> onCaptured) {
+    }
+
+    private static final class Capture {
+        private final Registration registration;
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private boolean overflowed;
+
+        Capture(Registration registration) {
+            this.registration = registration;
+        }
+
+        void append(DataBuffer buffer) {
+            if (overflowed) {
+                return;
+            }
+            if (bytes.size() + buffer.readableByteCount() > registration.maxBytes()) {
+                overflowed = true;
+                return;
+            }
+            try (DataBuffer.ByteBufferIterator views = buffer.readableByteBuffers()) {
+                while (views.hasNext()) {
+                    ByteBuffer view = views.next();
+                    byte[] chunk = new byte[view.remaining()];
+                    view.get(chunk);
+                    bytes.writeBytes(chunk);
+                }
+            }
+        }
+    }
+}
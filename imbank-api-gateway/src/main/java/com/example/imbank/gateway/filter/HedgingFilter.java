@@ -0,0 +1,367 @@
+package com.example.imbank.gateway.filter;
+
+import com.example.imbank.gateway.config.HedgingProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycleValidator;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.NotFoundException;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+// Hedged reads for the paths a route lists in `hedge-paths` metadata. The GET goes to one instance; if
+// it has not answered within the route's recent p95, the same request goes to a different instance
+// and whichever answers first is returned, the other is cancelled. Hedges are paid for from a
+// per-route RequestBudget, so at most a few percent of extra load reaches the services.
+//
+// Both answers are buffered before one is chosen, so only list small, bounded reads there (a single
+// resource, a short list), never exports, streams or unpaged collections:
+//
+//   metadata:
+//     hedge-paths: /api/departments,/api/departments/{id:\d+}
+//
+// Runs just before the load balancer filter and takes over routing for the request, so the route's
+// own filters (cache, single-flight, circuit breaker, retry) still wrap it unchanged.
+@Component
+public class HedgingFilter implements GlobalFilter, Ordered {
+
+    public static final int ORDER = ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER - 50;
+    static final String HEDGE_METADATA = "hedge-paths";
+    static final String HEDGED_HEADER = "X-Hedged";
+
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider;
+    private final HttpClientProperties httpClientProperties;
+    private final HedgingProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ObservationRegistry observationRegistry;
+    private final PooledNettyRoutingFilter routingFilter;
+    private final Map<String, RouteHedge> routes = new ConcurrentHashMap<>();
+    // hedge-paths metadata value -> parsed patterns
+    private final Map<String, List<PathPattern>> hedgePaths = new ConcurrentHashMap<>();
+
+    public HedgingFilter(LoadBalancerClientFactory clientFactory,
+                         ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                         PooledNettyRoutingFilter routingFilter,
+                         HttpClientProperties httpClientProperties,
+                         HedgingProperties properties,
+                         MeterRegistry meterRegistry,
+                         ObservationRegistry observationRegistry) {
+        this.clientFactory = clientFactory;
+        this.headersFiltersProvider = headersFiltersProvider;
+        this.httpClientProperties = httpClientProperties;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.observationRegistry = observationRegistry;
+        this.routingFilter = routingFilter;
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+        if (route == null || url == null || !"lb".equals(url.getScheme()) || isAlreadyRouted(exchange)
+                || !HttpMethod.GET.equals(exchange.getRequest().getMethod())
+                || !hedged(route, exchange)
+                || exchange.getRequest().getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+            return chain.filter(exchange);
+        }
+        String serviceId = url.getHost();
+        ReactorServiceInstanceLoadBalancer loadBalancer =
+                clientFactory.getInstance(serviceId, ReactorServiceInstanceLoadBalancer.class);
+        if (loadBalancer == null) {
+            return chain.filter(exchange);
+        }
+
+        RouteHedge hedge = routes.computeIfAbsent(route.getId(), id -> new RouteHedge(route));
+        hedge.budget.recordRequest();
+        setAlreadyRouted(exchange);
+
+        Attempt attempt = new Attempt(exchange, url, serviceId, loadBalancer, hedge.webClient(route),
+                responseTimeout(route), hedge);
+        AtomicReference<ServiceInstance> primaryInstance = new AtomicReference<>();
+        Mono<Upstream> primary = attempt.choose(null)
+                .doOnNext(pick -> primaryInstance.set(pick.lbResponse().getServer()))
+                .flatMap(attempt::send);
+        // the budget is only spent once a different instance is in hand, so a single-instance service
+        // neither drains it nor counts hedges that were never sent
+        Mono<Upstream> secondary = Mono.delay(hedge.delay())
+                .flatMap(tick -> attempt.choose(primaryInstance.get()))
+                .flatMap(pick -> {
+                    if (!hedge.budget.tryAcquire()) {
+                        meterRegistry.counter("gateway.hedge.budget.exhausted", "route", route.getId()).increment();
+                        return Mono.empty();
+                    }
+                    meterRegistry.counter("gateway.hedge.sent", "route", route.getId()).increment();
+                    return attempt.send(pick).map(Upstream::asHedge);
+                });
+
+        return Mono.firstWithValue(primary, secondary)
+                .onErrorMap(NoSuchElementException.class, HedgingFilter::firstCause)
+                .flatMap(upstream -> {
+                    if (upstream.hedge()) {
+                        meterRegistry.counter("gateway.hedge.won", "route", route.getId()).increment();
+                    }
+                    return write(exchange, upstream);
+                });
+    }
+
+    private boolean hedged(Route route, ServerWebExchange exchange) {
+        Object value = route.getMetadata().get(HEDGE_METADATA);
+        if (value == null) {
+            return false;
+        }
+        List<PathPattern> patterns = hedgePaths.computeIfAbsent(value.toString(), paths ->
+                Arrays.stream(paths.split(","))
+                        .map(String::trim)
+                        .filter(path -> !path.isEmpty())
+                        .map(PathPatternParser.defaultInstance::parse)
+                        .toList());
+        PathContainer path = exchange.getRequest().getPath().pathWithinApplication();
+        return patterns.stream().anyMatch(pattern -> pattern.matches(path));
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, Upstream upstream) {
+        exchange.getAttributes().put(GATEWAY_REQUEST_URL_ATTR, upstream.url());
+        exchange.getAttributes().put(GATEWAY_LOADBALANCER_RESPONSE_ATTR, upstream.lbResponse());
+
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = HttpHeadersFilter.filter(headersFiltersProvider.getIfAvailable(), upstream.headers(),
+                exchange, HttpHeadersFilter.Type.RESPONSE);
+        response.getHeaders().putAll(headers);
+        // the body is fully buffered, so send a length instead of the upstream's chunking
+        response.getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+        response.getHeaders().setContentLength(upstream.body().length);
+        if (upstream.hedge()) {
+            response.getHeaders().set(HEDGED_HEADER, "true");
+        }
+        response.setStatusCode(upstream.status());
+        return response.writeWith(Mono.fromSupplier(() -> response.bufferFactory().wrap(upstream.body())));
+    }
+
+    private Duration responseTimeout(Route route) {
+        Object value = route.getMetadata().get(RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR);
+        if (value != null) {
+            long millis = value instanceof Number number ? number.longValue() : Long.parseLong(value.toString());
+            return millis < 0 ? null : Duration.ofMillis(millis);
+        }
+        return httpClientProperties.getResponseTimeout();
+    }
+
+    // firstWithValue reports "all sources failed"; surface the primary's error instead so the retry
+    // and circuit breaker filters see a timeout or connection error as usual
+    private static Throwable firstCause(NoSuchElementException error) {
+        if (error.getCause() == null) {
+            return error;
+        }
+        List<Throwable> causes = Exceptions.unwrapMultiple(error.getCause());
+        return causes.isEmpty() ? error : causes.get(0);
+    }
+
+    private record Upstream(URI url, Response<ServiceInstance> lbResponse, HttpStatusCode status,
+                            HttpHeaders headers, byte[] body, boolean hedge) {
+
+        Upstream asHedge() {
+            return new Upstream(url, lbResponse, status, headers, body, true);
+        }
+    }
+
+    // an instance the load balancer chose for one upstream call, with the request it was chosen for
+    private record Pick(RequestData requestData, DefaultRequest<RequestDataContext> lbRequest,
+                        Response<ServiceInstance> lbResponse) {
+    }
+
+    // one upstream call: pick an instance, send the request, report it to the load balancer lifecycle
+    private final class Attempt {
+
+        private final ServerWebExchange exchange;
+        private final URI url;
+        private final String serviceId;
+        private final ReactorServiceInstanceLoadBalancer loadBalancer;
+        private final WebClient webClient;
+        private final Duration responseTimeout;
+        private final RouteHedge hedge;
+        private final HttpHeaders requestHeaders;
+        private final Set<LoadBalancerLifecycle> lifecycles;
+
+        @SuppressWarnings("unchecked")
+        Attempt(ServerWebExchange exchange, URI url, String serviceId, ReactorServiceInstanceLoadBalancer loadBalancer,
+                WebClient webClient, Duration responseTimeout, RouteHedge hedge) {
+            this.exchange = exchange;
+            this.url = url;
+            this.serviceId = serviceId;
+            this.loadBalancer = loadBalancer;
+            this.webClient = webClient;
+            this.responseTimeout = responseTimeout;
+            this.hedge = hedge;
+            this.requestHeaders = HttpHeadersFilter.filterRequest(headersFiltersProvider.getIfAvailable(), exchange);
+            this.lifecycles = LoadBalancerLifecycleValidator.getSupportedLifecycleProcessors(
+                    clientFactory.getInstances(serviceId, LoadBalancerLifecycle.class),
+                    RequestDataContext.class, ResponseData.class, ServiceInstance.class);
+        }
+
+        // empty when avoid is set and no other instance came up
+        Mono<Pick> choose(ServiceInstance avoid) {
+            RequestData requestData = new RequestData(exchange.getRequest());
+            DefaultRequest<RequestDataContext> lbRequest = new DefaultRequest<>(new RequestDataContext(requestData));
+
+            Mono<Response<ServiceInstance>> choice = Mono.from(loadBalancer.choose(lbRequest));
+            if (avoid != null) {
+                // a hedge to the instance that is already slow would be pointless; give up after three picks
+                choice = choice.repeat(2)
+                        .filter(response -> response.hasServer() && !sameInstance(response.getServer(), avoid))
+                        .next();
+            } else {
+                choice = choice.filter(Response::hasServer)
+                        .switchIfEmpty(Mono.error(() -> NotFoundException.create(false,
+                                "Unable to find instance for " + serviceId)));
+            }
+            return choice.map(lbResponse -> new Pick(requestData, lbRequest, lbResponse));
+        }
+
+        @SuppressWarnings("unchecked")
+        Mono<Upstream> send(Pick pick) {
+            RequestData requestData = pick.requestData();
+            DefaultRequest<RequestDataContext> lbRequest = pick.lbRequest();
+            Response<ServiceInstance> lbResponse = pick.lbResponse();
+            URI requestUrl = LoadBalancerUriTools.reconstructURI(lbResponse.getServer(), url);
+            lifecycles.forEach(lifecycle -> lifecycle.onStartRequest(lbRequest, lbResponse));
+            long start = System.nanoTime();
+
+            Mono<Upstream> upstream = webClient.method(exchange.getRequest().getMethod())
+                    .uri(requestUrl)
+                    .headers(headers -> headers.putAll(requestHeaders))
+                    .exchangeToMono(clientResponse -> clientResponse.bodyToMono(byte[].class)
+                            .defaultIfEmpty(new byte[0])
+                            .map(body -> {
+                                ResponseData responseData = new ResponseData(clientResponse, requestData);
+                                lifecycles.forEach(lifecycle -> lifecycle.onComplete(new CompletionContext<>(
+                                        CompletionContext.Status.SUCCESS, lbRequest, lbResponse, responseData)));
+                                hedge.record(System.nanoTime() - start);
+                                return new Upstream(requestUrl, lbResponse, clientResponse.statusCode(),
+                                        clientResponse.headers().asHttpHeaders(), body, false);
+                            }));
+            if (responseTimeout != null) {
+                upstream = upstream.timeout(responseTimeout);
+            }
+            return upstream
+                    .doOnError(error -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                            new CompletionContext<>(CompletionContext.Status.FAILED, error, lbRequest, lbResponse))))
+                    .doOnCancel(() -> lifecycles.forEach(lifecycle -> lifecycle.onComplete(
+                            new CompletionContext<>(CompletionContext.Status.DISCARD, lbRequest, lbResponse))));
+        }
+
+        private boolean sameInstance(ServiceInstance a, ServiceInstance b) {
+            return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+        }
+    }
+
+    // per-route latency percentile (decaying histogram) and hedge budget
+    private final class RouteHedge {
+
+        private final RequestBudget budget;
+        private final Timer latency;
+        private volatile HttpClient httpClient;
+        private volatile WebClient webClient;
+        private volatile long delayNanos;
+        private volatile long delayComputedAtNanos;
+
+        RouteHedge(Route route) {
+            this.budget = new RequestBudget(properties.getBudgetPercent(), properties.getMinHedgesPerSecond());
+            this.latency = Timer.builder("gateway.hedge.upstream.latency")
+                    .tag("route", route.getId())
+                    .publishPercentiles(properties.getPercentile())
+                    .register(meterRegistry);
+            this.delayNanos = properties.getInitialDelay().toNanos();
+        }
+
+        // same connection pool and connect timeout as the route's regular traffic; rebuilt when a
+        // route refresh replaces the pool
+        WebClient webClient(Route route) {
+            HttpClient client = routingFilter.clientFor(route);
+            if (client != httpClient) {
+                webClient = WebClient.builder()
+                        .clientConnector(new ReactorClientHttpConnector(client))
+                        .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(properties.getMaxBodyBytes()))
+                        .observationRegistry(observationRegistry)
+                        .build();
+                httpClient = client;
+            }
+            return webClient;
+        }
+
+        void record(long nanos) {
+            latency.record(nanos, TimeUnit.NANOSECONDS);
+        }
+
+        // recomputed at most once a second, a histogram snapshot is not free
+        Duration delay() {
+            long now = System.nanoTime();
+            if (now - delayComputedAtNanos > TimeUnit.SECONDS.toNanos(1)) {
+                delayComputedAtNanos = now;
+                if (latency.count() >= properties.getMinSamples()) {
+                    for (ValueAtPercentile value : latency.takeSnapshot().percentileValues()) {
+                        delayNanos = Math.max(properties.getMinDelay().toNanos(), (long) value.value(TimeUnit.NANOSECONDS));
+                    }
+                }
+            }
+            return Duration.ofNanos(delayNanos);
+        }
+    }
+}
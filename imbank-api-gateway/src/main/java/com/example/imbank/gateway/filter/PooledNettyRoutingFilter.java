@@ -0,0 +1,190 @@
+package com.example.imbank.gateway.filter;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.config.HttpClientProperties;
+import org.springframework.cloud.gateway.config.HttpClientSslConfigurer;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.RouteMetadataUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.transport.ProxyProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Replaces the gateway's NettyRoutingFilter (disabled via global-filter.netty-routing.enabled) so a
+// route can have its own upstream connection pool and speak h2c to the services. Routes without
+// `pool` / `http2` metadata keep the shared client from spring.cloud.gateway...httpclient; the others get
+// a client with the same httpclient settings (timeouts, proxy, SSL, decoder limits) and customizers.
+//
+//   metadata:
+//     http2: true                   # prior-knowledge h2c, the service needs server.http2.enabled
+//     pool:
+//       max-connections: 200
+//       pending-acquire-max: 400    # waiters beyond this fail fast instead of queueing
+//       pending-acquire-timeout: 2000
+//       max-idle-time: 15000        # below Tomcat's keep-alive timeout, so we close first
+//       max-life-time: 300000
+//       evict-interval: 10000
+//
+// Pools are built with metrics on: reactor.netty.connection.provider.* reports active, idle and
+// pending connections and the time spent waiting to acquire one, tagged with the pool name.
+@Component
+public class PooledNettyRoutingFilter extends NettyRoutingFilter {
+
+    static final String POOL_METADATA = "pool";
+    static final String HTTP2_METADATA = "http2";
+
+    private final HttpClient sharedClient;
+    private final HttpClientProperties properties;
+    private final ObjectProvider<HttpClientSslConfigurer> sslConfigurer;
+    private final ObjectProvider<HttpClientCustomizer> customizers;
+    private final Map<String, RouteClient> routeClients = new ConcurrentHashMap<>();
+
+    public PooledNettyRoutingFilter(HttpClient httpClient,
+                                    ObjectProvider<List<HttpHeadersFilter>> headersFiltersProvider,
+                                    HttpClientProperties properties,
+                                    ObjectProvider<HttpClientSslConfigurer> sslConfigurer,
+                                    ObjectProvider<HttpClientCustomizer> customizers) {
+        super(httpClient, headersFiltersProvider, properties);
+        this.sharedClient = httpClient;
+        this.properties = properties;
+        this.sslConfigurer = sslConfigurer;
+        this.customizers = customizers;
+    }
+
+    @Override
+    protected HttpClient getHttpClient(Route route, ServerWebExchange exchange) {
+        if (!hasOwnClient(route)) {
+            return super.getHttpClient(route, exchange);
+        }
+        return clientFor(route);
+    }
+
+    // also used by HedgingFilter, so hedged reads go through the same pool as the route
+    public HttpClient clientFor(Route route) {
+        if (!hasOwnClient(route)) {
+            return sharedClient;
+        }
+        Map<String, Object> metadata = route.getMetadata();
+        RouteClient current = routeClients.get(route.getId());
+        if (current != null && current.metadata().equals(metadata)) {
+            return current.client();
+        }
+        // first use, or the route was redefined on refresh
+        RouteClient created = routeClients.compute(route.getId(), (id, existing) -> {
+            if (existing != null && existing.metadata().equals(metadata)) {
+                return existing;
+            }
+            if (existing != null) {
+                // let in-flight requests finish on the old pool
+                existing.provider().disposeLater().subscribe();
+            }
+            return create(route);
+        });
+        return created.client();
+    }
+
+    private static boolean hasOwnClient(Route route) {
+        return route.getMetadata().get(POOL_METADATA) instanceof Map
+                || Boolean.parseBoolean(String.valueOf(route.getMetadata().get(HTTP2_METADATA)));
+    }
+
+    private RouteClient create(Route route) {
+        Map<?, ?> pool = route.getMetadata().get(POOL_METADATA) instanceof Map<?, ?> map ? map : Map.of();
+        ConnectionProvider.Builder builder = ConnectionProvider.builder("gateway-" + route.getId())
+                .maxConnections(intValue(pool, "max-connections", ConnectionProvider.DEFAULT_POOL_MAX_CONNECTIONS))
+                .pendingAcquireTimeout(millis(pool, "pending-acquire-timeout",
+                        Duration.ofMillis(ConnectionProvider.DEFAULT_POOL_ACQUIRE_TIMEOUT)))
+                .maxIdleTime(millis(pool, "max-idle-time", Duration.ofSeconds(15)))
+                .evictInBackground(millis(pool, "evict-interval", Duration.ofSeconds(10)))
+                .metrics(true);
+        if (pool.containsKey("pending-acquire-max")) {
+            builder.pendingAcquireMaxCount(intValue(pool, "pending-acquire-max", -1));
+        }
+        if (pool.containsKey("max-life-time")) {
+            builder.maxLifeTime(millis(pool, "max-life-time", null));
+        }
+        ConnectionProvider provider = builder.build();
+
+        HttpClient client = configure(HttpClient.create(provider), route);
+        if (Boolean.parseBoolean(String.valueOf(route.getMetadata().get(HTTP2_METADATA)))) {
+            client = client.protocol(HttpProtocol.H2C);
+        }
+        return new RouteClient(Map.copyOf(route.getMetadata()), provider, client);
+    }
+
+    // reactor-netty cannot swap the connection provider of an existing client, so the route's client
+    // gets the shared one's httpclient settings reapplied the way the gateway's HttpClientFactory does
+    private HttpClient configure(HttpClient client, Route route) {
+        client = client.option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMillis(route))
+                .compress(properties.isCompression())
+                .wiretap(properties.isWiretap())
+                .httpResponseDecoder(spec -> {
+                    if (properties.getMaxHeaderSize() != null) {
+                        spec.maxHeaderSize((int) properties.getMaxHeaderSize().toBytes());
+                    }
+                    if (properties.getMaxInitialLineLength() != null) {
+                        spec.maxInitialLineLength((int) properties.getMaxInitialLineLength().toBytes());
+                    }
+                    return spec;
+                });
+
+        HttpClientProperties.Proxy proxy = properties.getProxy();
+        if (StringUtils.hasText(proxy.getHost())) {
+            client = client.proxy(spec -> {
+                ProxyProvider.Builder builder = spec.type(ProxyProvider.Proxy.HTTP).host(proxy.getHost());
+                if (proxy.getPort() != null) {
+                    builder.port(proxy.getPort());
+                }
+                if (StringUtils.hasText(proxy.getUsername())) {
+                    builder.username(proxy.getUsername()).password(username -> proxy.getPassword());
+                }
+                if (StringUtils.hasText(proxy.getNonProxyHostsPattern())) {
+                    builder.nonProxyHosts(proxy.getNonProxyHostsPattern());
+                }
+            });
+        }
+
+        HttpClientSslConfigurer ssl = sslConfigurer.getIfAvailable();
+        if (ssl != null) {
+            client = ssl.configureSsl(client);
+        }
+        for (HttpClientCustomizer customizer : customizers.orderedStream().toList()) {
+            client = customizer.customize(client);
+        }
+        return client;
+    }
+
+    private int connectTimeoutMillis(Route route) {
+        Object value = route.getMetadata().get(RouteMetadataUtils.CONNECT_TIMEOUT_ATTR);
+        if (value != null) {
+            return Integer.parseInt(value.toString());
+        }
+        return Objects.requireNonNullElse(properties.getConnectTimeout(), 45_000);
+    }
+
+    private static int intValue(Map<?, ?> pool, String key, int defaultValue) {
+        Object value = pool.get(key);
+        return value != null ? Integer.parseInt(value.toString()) : defaultValue;
+    }
+
+    private static Duration millis(Map<?, ?> pool, String key, Duration defaultValue) {
+        Object value = pool.get(key);
+        return value != null ? Duration.ofMillis(Long.parseLong(value.toString())) : defaultValue;
+    }
+
+    private record RouteClient(Map<String, Object> metadata, ConnectionProvider provider, HttpClient client) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.imbank.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Caps extra upstream attempts (retries, hedges) at a fraction of first attempts, plus a small
+// per-second floor so quiet routes can still retry. Each first attempt deposits `percent`% of a
+// token, each extra attempt withdraws a whole one, so a struggling backend sees at most
+// (1 + percent/100)x its normal load instead of (1 + retries)x.
+public final class RequestBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long floorPerSecond;
+    private final long maxBalance;
+    private final AtomicLong balance;
+    private final AtomicLong lastFloorRefillNanos = new AtomicLong(System.nanoTime());
+
+    public RequestBudget(int percent, int minPerSecond) {
+        this.depositPerRequest = percent * SCALE / 100;
+        this.floorPerSecond = minPerSecond * SCALE;
+        // enough headroom for ten seconds of the floor, so a burst after a quiet spell is bounded too
+        this.maxBalance = Math.max(SCALE, floorPerSecond * 10);
+        this.balance = new AtomicLong(Math.min(maxBalance, floorPerSecond));
+    }
+
+    public void recordRequest() {
+        add(depositPerRequest);
+    }
+
+    public boolean tryAcquire() {
+        refillFloor();
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+
+    private void refillFloor() {
+        long now = System.nanoTime();
+        long last = lastFloorRefillNanos.get();
+        long elapsedMillis = (now - last) / 1_000_000;
+        if (elapsedMillis >= 100 && lastFloorRefillNanos.compareAndSet(last, now)) {
+            add(floorPerSecond * elapsedMillis / 1000);
+        }
+    }
+
+    private void add(long amount) {
+        balance.accumulateAndGet(amount, (current, delta) -> Math.min(maxBalance, current + delta));
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.imbank.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+// Caches GET responses per route for up to the configured TTL, keyed by path, query and the
+// configured request headers. Upstream Cache-Control is honoured (no-store / no-cache are never
+// stored, max-age and s-maxage shorten the TTL), ETags turn hits into 304s, and any other method
+// passing through the route invalidates what is cached for it.
+//
+//   filters:
+//     - name: ResponseCache
+//       args:
+//         ttl: 30s
+//         vary-headers: Authorization,Accept,Accept-Encoding
+@Component
+public class ResponseCacheGatewayFilterFactory extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    public static final String CACHE_HEADER = "X-Cache";
+
+    private final ResponseCacheStore store;
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheStore store, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // a plain filter, so it runs where the route declares it: after RequestRateLimiter, hits included
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = routeId(exchange);
+            HttpMethod method = request.getMethod();
+
+            if (!HttpMethod.GET.equals(method)) {
+                if (HttpMethod.HEAD.equals(method) || HttpMethod.OPTIONS.equals(method)) {
+                    return chain.filter(exchange);
+                }
+                // a write through this route makes its cached reads stale
+                return chain.filter(exchange).doFinally(signal -> store.invalidateRoute(routeId));
+            }
+
+            List<String> requestDirectives = directives(request.getHeaders());
+            if (requestDirectives.contains("no-store")) {
+                return chain.filter(exchange);
+            }
+
+            String key = cacheKey(routeId, request, config);
+            if (!requestDirectives.contains("no-cache")) {
+                CachedResponse cached = store.get(key);
+                if (cached != null) {
+                    meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", "hit").increment();
+                    ServerHttpResponse response = exchange.getResponse();
+                    response.getHeaders().set(CACHE_HEADER, "HIT");
+                    response.getHeaders().set(HttpHeaders.AGE, Long.toString(cached.ageSeconds()));
+                    return cached.writeTo(request, response);
+                }
+            }
+
+            meterRegistry.counter("gateway.cache.requests", "route", routeId, "result", "miss").increment();
+            long generation = store.generation(routeId);
+            exchange.getResponse().getHeaders().set(CACHE_HEADER, "MISS");
+            ResponseCaptureFilter.capture(exchange,
+                    store.getMaxBodyBytes(),
+                    response -> ttlMillis(response, config) > 0,
+                    captured -> store.put(routeId, key, captured,
+                            ttlMillis(captured.getHeaders(), captured.getStatus().value(), config), generation));
+            return chain.filter(exchange);
+        };
+    }
+
+    private long ttlMillis(ServerHttpResponse response, Config config) {
+        int status = response.getStatusCode() != null ? response.getStatusCode().value() : 0;
+        return ttlMillis(response.getHeaders(), status, config);
+    }
+
+    // 0 when the response must not be stored
+    private long ttlMillis(HttpHeaders headers, int status, Config config) {
+        if (status != HttpStatus.OK.value() || headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return 0;
+        }
+        MediaType contentType = headers.getContentType();
+        if (contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)) {
+            return 0;
+        }
+
+        List<String> directives = directives(headers);
+        if (directives.contains("no-store") || directives.contains("no-cache")) {
+            return 0;
+        }
+        // private responses may only be shared between requests carrying the same credentials
+        if (directives.contains("private") && config.getVaryHeaders().stream()
+                .noneMatch(HttpHeaders.AUTHORIZATION::equalsIgnoreCase)) {
+            return 0;
+        }
+
+        long ttl = config.getTtl().toMillis();
+        Long maxAge = maxAgeSeconds(directives);
+        return maxAge != null ? Math.min(ttl, maxAge * 1000) : ttl;
+    }
+
+    private static Long maxAgeSeconds(List<String> directives) {
+        Long maxAge = null;
+        for (String directive : directives) {
+            try {
+                if (directive.startsWith("s-maxage=")) {
+                    return Long.parseLong(directive.substring("s-maxage=".length()));
+                }
+                if (directive.startsWith("max-age=")) {
+                    maxAge = Long.parseLong(directive.substring("max-age=".length()));
+                }
+            } catch (NumberFormatException ex) {
+                return 0L;
+            }
+        }
+        return maxAge;
+    }
+
+    private static List<String> directives(HttpHeaders headers) {
+        return headers.getOrEmpty(HttpHeaders.CACHE_CONTROL).stream()
+                .flatMap(value -> List.of(value.split(",")).stream())
+                .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                .toList();
+    }
+
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "";
+    }
+
+    // route id stays readable for invalidation; the rest is hashed so credentials are not kept in keys
+    private static String cacheKey(String routeId, ServerHttpRequest request, Config config) {
+        StringBuilder raw = new StringBuilder(request.getPath().value())
+                .append('?').append(request.getURI().getRawQuery());
+        for (String header : config.getVaryHeaders()) {
+            raw.append('\n').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return routeId + "|" + sha256(raw.toString());
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(30);
+        private List<String> varyHeaders = List.of(
+                HttpHeaders.AUTHORIZATION, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+}
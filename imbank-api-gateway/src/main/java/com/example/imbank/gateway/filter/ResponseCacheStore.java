@@ -0,0 +1,86 @@
+package com.example.imbank.gateway.filter;
+
+import com.example.imbank.gateway.config.ResponseCacheProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Bounded response store shared by all cached routes. Keys start with the route id so a write
+// can drop everything cached for its route; the least recently used entry is evicted once full.
+// TTLs differ per route, so expiry is checked on read rather than by the map.
+@Component
+public class ResponseCacheStore {
+
+    private final ResponseCacheProperties properties;
+    private final ReentrantLock lock = new ReentrantLock();
+    // access-ordered; guarded by lock
+    private final LinkedHashMap<String, Entry> entries;
+    // bumped on every invalidation; a response fetched under an older generation is not stored
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    public ResponseCacheStore(ResponseCacheProperties properties) {
+        this.properties = properties;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > properties.getMaxEntries();
+            }
+        };
+    }
+
+    public CachedResponse get(String key) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAtMillis() < System.currentTimeMillis()) {
+                entries.remove(key);
+                return null;
+            }
+            return entry.response();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long generation(String routeId) {
+        return generations.computeIfAbsent(routeId, id -> new AtomicLong()).get();
+    }
+
+    public void put(String routeId, String key, CachedResponse response, long ttlMillis, long generation) {
+        lock.lock();
+        try {
+            // checked under the lock so an invalidation cannot slip in between check and store
+            if (generation(routeId) != generation) {
+                return;
+            }
+            entries.put(key, new Entry(response, System.currentTimeMillis() + ttlMillis));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void invalidateRoute(String routeId) {
+        String prefix = routeId + "|";
+        lock.lock();
+        try {
+            generations.computeIfAbsent(routeId, id -> new AtomicLong()).incrementAndGet();
+            entries.keySet().removeIf(key -> key.startsWith(prefix));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getMaxBodyBytes() {
+        return properties.getMaxBodyBytes();
+    }
+
+    private record Entry(CachedResponse response, long expiresAtMillis) {
+    }
+}
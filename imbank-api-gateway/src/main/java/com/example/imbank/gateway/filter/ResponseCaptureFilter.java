@@ -0,0 +1,44 @@
+package com.example.imbank.gateway.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+// NettyWriteResponseFilter writes the body through the response of the exchange it was handed, so a
+// decorator installed by a route filter further down the chain never sees it. This filter installs
+// one ahead of it on every exchange; ResponseCache and SingleFlight attach their captures to it and
+// can therefore run in the order the route declares them, after RequestRateLimiter.
+@Component
+public class ResponseCaptureFilter implements GlobalFilter, Ordered {
+
+    private static final String DECORATOR_ATTR = ResponseCaptureFilter.class.getName() + ".decorator";
+
+    @Override
+    public int getOrder() {
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        CapturingResponseDecorator decorator = new CapturingResponseDecorator(exchange.getResponse());
+        exchange.getAttributes().put(DECORATOR_ATTR, decorator);
+        return chain.filter(exchange.mutate().response(decorator).build());
+    }
+
+    // hands onCaptured a copy of the response once its body has been written, if capturable accepts it
+    static void capture(ServerWebExchange exchange, int maxBytes,
+                        Predicate<ServerHttpResponse> capturable, Consumer<CachedResponse> onCaptured) {
+        CapturingResponseDecorator decorator = exchange.getAttribute(DECORATOR_ATTR);
+        if (decorator != null) {
+            decorator.capture(maxBytes, capturable, onCaptured);
+        }
+    }
+}
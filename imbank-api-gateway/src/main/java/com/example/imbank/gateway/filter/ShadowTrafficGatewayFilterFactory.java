@@ -0,0 +1,189 @@
+package com.example.imbank.gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.observation.ObservationRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Mirrors a sample of the route's GETs to a shadow service (e.g. a new build registered in Eureka
+// under its own id) without waiting on it; the client only ever sees the primary's response. Once
+// both have answered, latency per target and primary/shadow status pairs are recorded under
+// gateway.shadow.*, so a regression shows up in metrics before the build takes real traffic.
+// Writes are never mirrored, the services share one database.
+//
+//   filters:
+//     - name: ShadowTraffic
+//       args:
+//         service-id: employee-service-shadow
+//         sample-percent: 5
+//         timeout: 10s
+//         max-concurrent: 50
+@Component
+public class ShadowTrafficGatewayFilterFactory extends AbstractGatewayFilterFactory<ShadowTrafficGatewayFilterFactory.Config> {
+
+    static final String SHADOW_HEADER = "X-Shadow-Request";
+
+    private static final Logger log = LoggerFactory.getLogger(ShadowTrafficGatewayFilterFactory.class);
+
+    private final MeterRegistry meterRegistry;
+    private final WebClient webClient;
+
+    public ShadowTrafficGatewayFilterFactory(MeterRegistry meterRegistry,
+                                             ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                             ObservationRegistry observationRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.webClient = WebClient.builder()
+                .filter(loadBalancerFunction)
+                .observationRegistry(observationRegistry)
+                .build();
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("serviceId", "samplePercent");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        AtomicInteger inFlight = new AtomicInteger();
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod())
+                    || request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)
+                    || ThreadLocalRandom.current().nextDouble(100) >= config.getSamplePercent()) {
+                return chain.filter(exchange);
+            }
+            String routeId = ResponseCacheGatewayFilterFactory.routeId(exchange);
+            // a slow shadow must not pile up requests inside the gateway
+            if (inFlight.incrementAndGet() > config.getMaxConcurrent()) {
+                inFlight.decrementAndGet();
+                meterRegistry.counter("gateway.shadow.skipped", "route", routeId).increment();
+                return chain.filter(exchange);
+            }
+
+            Sinks.One<Outcome> primary = Sinks.one();
+            Mono.zip(primary.asMono(), mirror(request, config))
+                    .timeout(config.getTimeout().plusSeconds(30))
+                    .doFinally(signal -> inFlight.decrementAndGet())
+                    .subscribe(
+                            outcomes -> record(routeId, outcomes.getT1(), outcomes.getT2()),
+                            error -> log.debug("Shadow comparison for route {} dropped: {}", routeId, error.toString()));
+
+            long start = System.nanoTime();
+            return chain.filter(exchange).doFinally(signal -> primary.tryEmitValue(
+                    new Outcome(exchange.getResponse().getStatusCode(), System.nanoTime() - start)));
+        };
+    }
+
+    // never errors: a failed or timed-out shadow call is an outcome like any other
+    private Mono<Outcome> mirror(ServerHttpRequest request, Config config) {
+        URI uri = UriComponentsBuilder.fromUri(request.getURI())
+                .scheme("http")
+                .host(config.getServiceId())
+                .port(-1)
+                .build(true)
+                .toUri();
+        long start = System.nanoTime();
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    request.getHeaders().forEach((name, values) -> {
+                        if (!HttpHeaders.HOST.equalsIgnoreCase(name) && !HttpHeaders.CONNECTION.equalsIgnoreCase(name)) {
+                            headers.addAll(name, values);
+                        }
+                    });
+                    headers.set(SHADOW_HEADER, "true");
+                })
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(new Outcome(response.statusCode(), System.nanoTime() - start)))
+                .timeout(config.getTimeout())
+                .onErrorResume(error -> Mono.just(new Outcome(null, System.nanoTime() - start)));
+    }
+
+    private void record(String routeId, Outcome primary, Outcome shadow) {
+        timer(routeId, "primary").record(primary.nanos(), TimeUnit.NANOSECONDS);
+        timer(routeId, "shadow").record(shadow.nanos(), TimeUnit.NANOSECONDS);
+        meterRegistry.counter("gateway.shadow.responses", "route", routeId,
+                "primary", primary.series(), "shadow", shadow.series()).increment();
+        if (!primary.series().equals(shadow.series())) {
+            log.debug("Shadow status differs on route {}: primary {} shadow {}", routeId, primary.status(), shadow.status());
+        }
+    }
+
+    private Timer timer(String routeId, String target) {
+        return Timer.builder("gateway.shadow.latency")
+                .tag("route", routeId)
+                .tag("target", target)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record Outcome(HttpStatusCode status, long nanos) {
+
+        // status class keeps the status tag low-cardinality
+        String series() {
+            return status == null ? "error" : (status.value() / 100) + "xx";
+        }
+    }
+
+    public static class Config {
+        private String serviceId;
+        private double samplePercent = 1;
+        private Duration timeout = Duration.ofSeconds(10);
+        private int maxConcurrent = 50;
+
+        public String getServiceId() {
+            return serviceId;
+        }
+
+        public void setServiceId(String serviceId) {
+            this.serviceId = serviceId;
+        }
+
+        public double getSamplePercent() {
+            return samplePercent;
+        }
+
+        public void setSamplePercent(double samplePercent) {
+            this.samplePercent = samplePercent;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+    }
+}
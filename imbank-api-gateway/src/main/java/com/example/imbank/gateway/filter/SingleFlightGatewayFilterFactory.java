@@ -0,0 +1,126 @@
+package com.example.imbank.gateway.filter;
+
+import com.example.imbank.gateway.config.ResponseCacheProperties;
+import com.example.imbank.gateway.security.JwtPrincipalResolver;
+import com.example.imbank.gateway.security.TokenPrincipal;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Collapses concurrent identical GETs into one upstream call. The first request (leader) goes
+// upstream; identical requests arriving while it is in flight wait for its response and get a copy.
+// Requests only join when their verified role set matches the leader's, since that is what the
+// services authorize on. Nothing outlives the leader's call, so no stale data is served.
+//
+//   filters:
+//     - name: SingleFlight
+//       args:
+//         max-wait: 10s
+@Component
+public class SingleFlightGatewayFilterFactory extends AbstractGatewayFilterFactory<SingleFlightGatewayFilterFactory.Config> {
+
+    static final String COALESCED_HEADER = "X-Coalesced";
+
+    private final JwtPrincipalResolver principalResolver;
+    private final ResponseCacheProperties cacheProperties;
+    private final Map<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    public SingleFlightGatewayFilterFactory(JwtPrincipalResolver principalResolver,
+                                            ResponseCacheProperties cacheProperties) {
+        super(Config.class);
+        this.principalResolver = principalResolver;
+        this.cacheProperties = cacheProperties;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxWait");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // a plain filter, so followers still pass RequestRateLimiter declared ahead of it
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            // event streams never complete, so there is no response to share
+            if (!HttpMethod.GET.equals(request.getMethod())
+                    || request.getHeaders().getAccept().contains(MediaType.TEXT_EVENT_STREAM)) {
+                return chain.filter(exchange);
+            }
+            // unverified callers never share, the service rejects them on its own
+            Optional<TokenPrincipal> principal = principalResolver.resolve(request);
+            if (principal.isEmpty()) {
+                return chain.filter(exchange);
+            }
+
+            String key = flightKey(ResponseCacheGatewayFilterFactory.routeId(exchange), request, principal.get());
+            Sinks.One<CachedResponse> flight = Sinks.one();
+            Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+
+            if (leader != null) {
+                // follower: replay the leader's response, or go upstream alone if it fails or takes too long
+                return leader.asMono()
+                        .timeout(config.getMaxWait())
+                        .map(Optional::of)
+                        .onErrorReturn(Optional.empty())
+                        .defaultIfEmpty(Optional.empty())
+                        .flatMap(shared -> {
+                            if (shared.isEmpty()) {
+                                return chain.filter(exchange);
+                            }
+                            exchange.getResponse().getHeaders().set(COALESCED_HEADER, "true");
+                            return shared.get().writeTo(request, exchange.getResponse());
+                        });
+            }
+
+            ResponseCaptureFilter.capture(exchange,
+                    cacheProperties.getMaxBodyBytes(),
+                    response -> !isEventStream(response.getHeaders()),
+                    flight::tryEmitValue);
+            return chain.filter(exchange)
+                    .doFinally(signal -> {
+                        inFlight.remove(key, flight);
+                        // no-op if the response was shared; otherwise followers fall back to their own call
+                        flight.tryEmitEmpty();
+                    });
+        };
+    }
+
+    private static boolean isEventStream(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType);
+    }
+
+    private static String flightKey(String routeId, ServerHttpRequest request, TokenPrincipal principal) {
+        HttpHeaders headers = request.getHeaders();
+        return routeId + "|" + request.getPath().value() + "?" + request.getURI().getRawQuery()
+                + "|" + principal.roles()
+                + "|" + headers.getOrEmpty(HttpHeaders.ACCEPT)
+                + "|" + headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    public static class Config {
+        // how long a follower waits on the leader before making its own call
+        private Duration maxWait = Duration.ofSeconds(10);
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.imbank.gateway.loadbalancer;
+
+import com.example.imbank.gateway.config.LatencyAwareProperties;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.ResponseData;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Live per-instance load signals for LatencyAwareLoadBalancer, fed by the load balancer lifecycle
+// of every lb:// exchange: requests in flight and a peak-sensitive, time-decayed latency average.
+@Component
+public class InstanceStats implements LoadBalancerLifecycle<RequestDataContext, ResponseData, ServiceInstance> {
+
+    private final LatencyAwareProperties properties;
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public InstanceStats(LatencyAwareProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean supports(Class requestContextClass, Class responseClass, Class serverTypeClass) {
+        return RequestDataContext.class.isAssignableFrom(requestContextClass)
+                && ResponseData.class.isAssignableFrom(responseClass)
+                && ServiceInstance.class.isAssignableFrom(serverTypeClass);
+    }
+
+    @Override
+    public void onStart(Request<RequestDataContext> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<RequestDataContext> request, Response<ServiceInstance> lbResponse) {
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        if (lbResponse.hasServer()) {
+            stats(lbResponse.getServer()).inFlight.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void onComplete(CompletionContext<ResponseData, ServiceInstance, RequestDataContext> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        Stats instance = stats(lbResponse.getServer());
+        instance.inFlight.decrementAndGet();
+
+        long now = System.nanoTime();
+        double latencyMillis;
+        if (completionContext.status() == CompletionContext.Status.DISCARD) {
+            // cancelled before it answered (e.g. a hedged request that lost), the elapsed time says nothing
+            return;
+        } else if (completionContext.status() == CompletionContext.Status.FAILED) {
+            latencyMillis = properties.getFailurePenalty().toMillis();
+        } else if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() > 0) {
+            latencyMillis = (now - timed.getRequestStartTime()) / 1_000_000.0;
+        } else {
+            return;
+        }
+        instance.record(latencyMillis, now, properties.getDecay().toNanos());
+    }
+
+    int inFlight(ServiceInstance instance) {
+        return stats(instance).inFlight.get();
+    }
+
+    // NaN until the instance has answered at least once
+    double latencyMillis(ServiceInstance instance) {
+        return stats(instance).latencyMillis();
+    }
+
+    long firstSeenNanos(ServiceInstance instance) {
+        return stats(instance).firstSeenNanos;
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        return stats.computeIfAbsent(key(instance), k -> new Stats(System.nanoTime()));
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+    }
+
+    private static final class Stats {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final long firstSeenNanos;
+        private double ewmaMillis = Double.NaN;
+        private long updatedAtNanos;
+
+        private Stats(long firstSeenNanos) {
+            this.firstSeenNanos = firstSeenNanos;
+        }
+
+        // short critical section per response; reads are lock-free below
+        synchronized void record(double sampleMillis, long now, long decayNanos) {
+            if (Double.isNaN(ewmaMillis) || sampleMillis > ewmaMillis) {
+                // jump straight up on a slow sample so a stalling instance is avoided at once
+                ewmaMillis = sampleMillis;
+            } else {
+                double weight = Math.exp(-(double) (now - updatedAtNanos) / decayNanos);
+                ewmaMillis = ewmaMillis * weight + sampleMillis * (1 - weight);
+            }
+            updatedAtNanos = now;
+        }
+
+        synchronized double latencyMillis() {
+            return ewmaMillis;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.imbank.gateway.loadbalancer;
+
+import com.example.imbank.gateway.config.LatencyAwareProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.netflix.eureka.EurekaServiceInstance;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Power-of-two-choices: sample two instances at random and send the request to the one with the lower
+// cost, where cost is latency * (in-flight + 1) scaled down for instances still in their slow-start
+// window. Unlike least-loaded it never herds every gateway thread onto the same "best" instance.
+public class LatencyAwareLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    // assumed latency before any instance of the service has answered
+    private static final double DEFAULT_LATENCY_MILLIS = 50;
+
+    private final ObjectProvider<ServiceInstanceListSupplier> supplierProvider;
+    private final InstanceStats stats;
+    private final LatencyAwareProperties properties;
+
+    public LatencyAwareLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> supplierProvider,
+                                    InstanceStats stats, LatencyAwareProperties properties) {
+        this.supplierProvider = supplierProvider;
+        this.stats = stats;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = supplierProvider.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+
+        double fallbackLatency = averageLatency(instances);
+        return new DefaultResponse(cost(a, fallbackLatency) <= cost(b, fallbackLatency) ? a : b);
+    }
+
+    private double cost(ServiceInstance instance, double fallbackLatency) {
+        double latency = stats.latencyMillis(instance);
+        if (Double.isNaN(latency)) {
+            // no samples yet: treat it like its peers rather than as infinitely fast
+            latency = fallbackLatency;
+        }
+        return (latency + 1) * (stats.inFlight(instance) + 1) / weight(instance);
+    }
+
+    private double weight(ServiceInstance instance) {
+        long slowStartNanos = properties.getSlowStart().toNanos();
+        if (slowStartNanos <= 0) {
+            return 1;
+        }
+        long age = ageNanos(instance);
+        if (age >= slowStartNanos) {
+            return 1;
+        }
+        return Math.max(properties.getMinWeight(), (double) age / slowStartNanos);
+    }
+
+    private long ageNanos(ServiceInstance instance) {
+        // Eureka knows when the instance came up; prefer that over when this gateway first saw it,
+        // so a gateway restart does not put every instance back into slow start
+        if (instance instanceof EurekaServiceInstance eureka && eureka.getInstanceInfo().getLeaseInfo() != null) {
+            long upSince = eureka.getInstanceInfo().getLeaseInfo().getServiceUpTimestamp();
+            if (upSince > 0) {
+                return TimeUnit.MILLISECONDS.toNanos(Math.max(0, System.currentTimeMillis() - upSince));
+            }
+        }
+        return System.nanoTime() - stats.firstSeenNanos(instance);
+    }
+
+    private double averageLatency(List<ServiceInstance> instances) {
+        double sum = 0;
+        int known = 0;
+        for (ServiceInstance instance : instances) {
+            double latency = stats.latencyMillis(instance);
+            if (!Double.isNaN(latency)) {
+                sum += latency;
+                known++;
+            }
+        }
+        return known == 0 ? DEFAULT_LATENCY_MILLIS : sum / known;
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.imbank.gateway.ratelimit;
+
+import com.example.imbank.gateway.config.RateLimitProperties;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.constraints.Min;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Token-bucket RateLimiter kept in gateway memory, a drop-in for RedisRateLimiter on a single
+// gateway instance (limits are per instance). Buckets live in hash-sharded maps and are swept once idle.
+//
+//   filters:
+//     - name: RequestRateLimiter
+//       args:
+//         rate-limiter: "#{@inMemoryRateLimiter}"
+//         key-resolver: "#{@principalKeyResolver}"
+//         in-memory-rate-limiter.replenish-rate: 20
+//         in-memory-rate-limiter.burst-capacity: 40
+@Component
+public class InMemoryRateLimiter extends AbstractRateLimiter<InMemoryRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "in-memory-rate-limiter";
+
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+    public static final String REQUESTED_TOKENS_HEADER = "X-RateLimit-Requested-Tokens";
+
+    private static final Logger log = LoggerFactory.getLogger(InMemoryRateLimiter.class);
+    private static final int SHARDS = 16;
+    private static final String OVERFLOW_KEY = "\u0000overflow";
+
+    private final RateLimitProperties properties;
+    private final List<Map<String, TokenBucket>> shards = new ArrayList<>(SHARDS);
+    private final ScheduledExecutorService sweeper = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().daemon().name("rate-limit-sweeper").factory());
+
+    public InMemoryRateLimiter(RateLimitProperties properties, ConfigurationService configurationService) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.properties = properties;
+        for (int i = 0; i < SHARDS; i++) {
+            shards.add(new ConcurrentHashMap<>());
+        }
+        long period = Math.max(1, properties.getIdleTimeout().toSeconds() / 2);
+        sweeper.scheduleWithFixedDelay(this::evictIdle, period, period, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig());
+        long now = System.nanoTime();
+
+        TokenBucket.Outcome outcome = bucket(routeId + "|" + id, config, now)
+                .tryConsume(config.getReplenishRate(), config.getBurstCapacity(), config.getRequestedTokens(), now);
+
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(REMAINING_HEADER, Long.toString(outcome.remaining()));
+        headers.put(REPLENISH_RATE_HEADER, Integer.toString(config.getReplenishRate()));
+        headers.put(BURST_CAPACITY_HEADER, Integer.toString(config.getBurstCapacity()));
+        headers.put(REQUESTED_TOKENS_HEADER, Integer.toString(config.getRequestedTokens()));
+        if (!outcome.allowed()) {
+            headers.put(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, outcome.retryAfterSeconds())));
+        }
+        return Mono.just(new Response(outcome.allowed(), headers));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sweeper.shutdownNow();
+    }
+
+    private TokenBucket bucket(String key, Config config, long now) {
+        Map<String, TokenBucket> shard = shards.get((key.hashCode() & 0x7fffffff) % SHARDS);
+        TokenBucket bucket = shard.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (shard.size() >= properties.getMaxBuckets() / SHARDS) {
+            // too many distinct callers: newcomers share one bucket per route instead of growing the map
+            String routeId = key.substring(0, key.indexOf('|'));
+            log.debug("Rate limit shard full, {} falls back to the overflow bucket", key);
+            return shard.computeIfAbsent(routeId + "|" + OVERFLOW_KEY, k -> new TokenBucket(config.getBurstCapacity(), now));
+        }
+        return shard.computeIfAbsent(key, k -> new TokenBucket(config.getBurstCapacity(), now));
+    }
+
+    private void evictIdle() {
+        long cutoff = System.nanoTime() - properties.getIdleTimeout().toNanos();
+        int evicted = 0;
+        for (Map<String, TokenBucket> shard : shards) {
+            int before = shard.size();
+            shard.values().removeIf(bucket -> bucket.getLastAccessNanos() < cutoff);
+            evicted += before - shard.size();
+        }
+        if (evicted > 0) {
+            log.debug("Evicted {} idle rate limit buckets", evicted);
+        }
+    }
+
+    private Config defaultConfig() {
+        return new Config()
+                .setReplenishRate(properties.getDefaultReplenishRate())
+                .setBurstCapacity(properties.getDefaultBurstCapacity());
+    }
+
+    @Validated
+    public static class Config {
+        // tokens added per second
+        @Min(1)
+        private int replenishRate = 1;
+        // bucket size, i.e. the largest burst allowed
+        @Min(1)
+        private int burstCapacity = 1;
+        // cost of one request
+        @Min(1)
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public Config setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+            return this;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public Config setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+            return this;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public Config setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+            return this;
+        }
+    }
+}
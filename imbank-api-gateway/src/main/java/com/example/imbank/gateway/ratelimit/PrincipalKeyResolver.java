@@ -0,0 +1,35 @@
+package com.example.imbank.gateway.ratelimit;
+
+import com.example.imbank.gateway.security.JwtPrincipalResolver;
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+
+// Rate limit key: the verified JWT subject, or the client IP for anonymous callers (e.g. login)
+@Component
+public class PrincipalKeyResolver implements KeyResolver {
+
+    private final JwtPrincipalResolver principalResolver;
+
+    public PrincipalKeyResolver(JwtPrincipalResolver principalResolver) {
+        this.principalResolver = principalResolver;
+    }
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return Mono.just(principalResolver.resolve(exchange.getRequest())
+                .map(principal -> "user:" + principal.subject())
+                .orElseGet(() -> "ip:" + clientAddress(exchange)));
+    }
+
+    private static String clientAddress(ServerWebExchange exchange) {
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        if (remote == null) {
+            return "unknown";
+        }
+        return remote.getAddress() != null ? remote.getAddress().getHostAddress() : remote.getHostString();
+    }
+}
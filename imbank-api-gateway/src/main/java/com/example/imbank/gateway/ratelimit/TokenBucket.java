@@ -0,0 +1,40 @@
+package com.example.imbank.gateway.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Lazily refilled token bucket; state changes are a single CAS, no locks
+final class TokenBucket {
+
+    private final AtomicReference<State> state;
+    private volatile long lastAccessNanos;
+
+    TokenBucket(int capacity, long nowNanos) {
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+        this.lastAccessNanos = nowNanos;
+    }
+
+    Outcome tryConsume(double replenishPerSecond, int capacity, int requested, long nowNanos) {
+        lastAccessNanos = nowNanos;
+        while (true) {
+            State current = state.get();
+            double elapsedSeconds = Math.max(0, nowNanos - current.refilledAtNanos()) / 1_000_000_000.0;
+            double tokens = Math.min(capacity, current.tokens() + elapsedSeconds * replenishPerSecond);
+            boolean allowed = tokens >= requested;
+            State next = new State(allowed ? tokens - requested : tokens, nowNanos);
+            if (state.compareAndSet(current, next)) {
+                long retryAfterSeconds = allowed ? 0 : (long) Math.ceil((requested - tokens) / replenishPerSecond);
+                return new Outcome(allowed, (long) next.tokens(), retryAfterSeconds);
+            }
+        }
+    }
+
+    long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+
+    record Outcome(boolean allowed, long remaining, long retryAfterSeconds) {
+    }
+
+    private record State(double tokens, long refilledAtNanos) {
+    }
+}
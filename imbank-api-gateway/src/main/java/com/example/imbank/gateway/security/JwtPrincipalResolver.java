@@ -0,0 +1,100 @@
+package com.example.imbank.gateway.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+// Verifies bearer tokens with the same HMAC secret as the services, so gateway filters can tell
+// callers apart without trusting unsigned claims. Authorization itself stays in the services.
+@Component
+public class JwtPrincipalResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final int MAX_VERIFIED_TOKENS = 10_000;
+
+    private final JwtParser parser;
+    private final ObservationRegistry observationRegistry;
+    private final Counter cacheHits;
+    private final Counter cacheMisses;
+    // signature checks are the expensive part and clients reuse a token until it expires
+    private final Map<String, TokenPrincipal> verified = new ConcurrentHashMap<>();
+
+    public JwtPrincipalResolver(@Value("${jwt.secret}") String jwtSecret, ObservationRegistry observationRegistry,
+                                MeterRegistry meterRegistry) {
+        this.parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
+        this.observationRegistry = observationRegistry;
+        this.cacheHits = meterRegistry.counter("gateway.jwt.cache", "result", "hit");
+        this.cacheMisses = meterRegistry.counter("gateway.jwt.cache", "result", "miss");
+    }
+
+    public Optional<TokenPrincipal> resolve(ServerHttpRequest request) {
+        String header = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.startsWith(BEARER_PREFIX)) {
+            return Optional.empty();
+        }
+        String token = header.substring(BEARER_PREFIX.length());
+
+        TokenPrincipal principal = verified.get(token);
+        if (principal != null) {
+            if (!principal.isExpired()) {
+                cacheHits.increment();
+                return Optional.of(principal);
+            }
+            verified.remove(token);
+        }
+
+        cacheMisses.increment();
+        // only cache misses are observed, a hit costs next to nothing
+        Observation observation = Observation.start("jwt.verify", observationRegistry);
+        try (Observation.Scope scope = observation.openScope()) {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            principal = new TokenPrincipal(
+                    claims.getSubject(),
+                    canonicalRoles(claims.get("roles", String.class)),
+                    claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+            observation.lowCardinalityKeyValue("outcome", "valid");
+        } catch (JwtException | IllegalArgumentException ex) {
+            observation.lowCardinalityKeyValue("outcome", "invalid");
+            return Optional.empty();
+        } finally {
+            observation.stop();
+        }
+
+        if (verified.size() >= MAX_VERIFIED_TOKENS) {
+            verified.clear();
+        }
+        verified.put(token, principal);
+        return Optional.of(principal);
+    }
+
+    private static String canonicalRoles(String roles) {
+        if (roles == null || roles.isBlank()) {
+            return "";
+        }
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .sorted()
+                .distinct()
+                .collect(Collectors.joining(","));
+    }
+}
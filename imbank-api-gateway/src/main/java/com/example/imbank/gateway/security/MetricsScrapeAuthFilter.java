@@ -0,0 +1,63 @@
+package com.example.imbank.gateway.security;
+
+import com.example.imbank.gateway.config.MetricsProperties;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+// The gateway has no Spring Security, so the Prometheus endpoint is guarded here with the same HTTP
+// Basic scrape credentials the services use. Without a configured password it always answers 401.
+@Component
+public class MetricsScrapeAuthFilter implements WebFilter, Ordered {
+
+    private static final String PROMETHEUS_PATH = "/actuator/prometheus";
+
+    private final MetricsProperties properties;
+
+    public MetricsScrapeAuthFilter(MetricsProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public int getOrder() {
+        // after the access log, so rejected scrapes are still logged
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!PROMETHEUS_PATH.equals(exchange.getRequest().getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+        if (authorized(exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION))) {
+            return chain.filter(exchange);
+        }
+        exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
+        exchange.getResponse().getHeaders().set(HttpHeaders.WWW_AUTHENTICATE, "Basic realm=\"metrics\"");
+        return exchange.getResponse().setComplete();
+    }
+
+    private boolean authorized(String header) {
+        String password = properties.getScrapePassword();
+        if (password == null || password.isBlank() || header == null || !header.startsWith("Basic ")) {
+            return false;
+        }
+        byte[] expected = (properties.getScrapeUsername() + ":" + password).getBytes(StandardCharsets.UTF_8);
+        byte[] presented;
+        try {
+            presented = Base64.getDecoder().decode(header.substring("Basic ".length()).trim());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, presented);
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.imbank.gateway.security;
+
+import java.time.Instant;
+
+// Caller identity taken from a verified access token; roles are sorted so equal role sets compare equal
+public record TokenPrincipal(String subject, String roles, Instant expiresAt) {
+
+    public boolean isExpired() {
+        return expiresAt != null && expiresAt.isBefore(Instant.now());
+    }
+}
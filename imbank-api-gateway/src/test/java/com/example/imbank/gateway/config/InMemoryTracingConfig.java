@@ -0,0 +1,18 @@
+package com.example.imbank.gateway.config;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Keeps finished gateway spans in memory for tests that set imbank.tracing.in-memory-exporter=true;
+// picked up by component scan from the test classes only.
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "imbank.tracing.in-memory-exporter", havingValue = "true")
+public class InMemoryTracingConfig {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+}
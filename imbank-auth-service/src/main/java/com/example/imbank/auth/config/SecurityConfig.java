@@ -3,17 +3,25 @@ package com.example.imbank.auth.config;
 import com.example.imbank.auth.security.JwtAccessDeniedHandler;
 import com.example.imbank.auth.security.JwtAuthenticationEntryPoint;
 import com.example.imbank.auth.security.JwtAuthenticationFilter;
+import com.example.imbank.observability.MetricsProperties;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -56,6 +64,37 @@ public class SecurityConfig {
         return source;
     }
 
+    // Prometheus scrapes with HTTP Basic (imbank.metrics.*); checked before the JWT chain below
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http, MetricsProperties metricsProperties)
+            throws Exception {
+        String scrapePassword = metricsProperties.getScrapePassword();
+        boolean configured = scrapePassword != null && !scrapePassword.isBlank();
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(scrapeAuthenticationManager(metricsProperties))
+                .authorizeHttpRequests(auth -> {
+                    if (configured) {
+                        auth.anyRequest().hasRole("METRICS");
+                    } else {
+                        auth.anyRequest().denyAll();
+                    }
+                });
+        return http.build();
+    }
+
+    private static AuthenticationManager scrapeAuthenticationManager(MetricsProperties metricsProperties) {
+        UserDetails scraper = User.withUsername(metricsProperties.getScrapeUsername())
+                .password("{noop}" + metricsProperties.getScrapePassword())
+                .roles("METRICS")
+                .build();
+        return new ProviderManager(new DaoAuthenticationProvider(new InMemoryUserDetailsManager(scraper)));
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -89,6 +128,7 @@ public class SecurityConfig {
                                 "/api-docs/**"
                         ).permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/slowqueries").hasRole("ADMIN")
                         .requestMatchers("/error").permitAll()
                         // All other requests require authentication
                         .anyRequest().authenticated()
@@ -9,6 +9,9 @@ import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.repository.query.Param;
 import org.springframework.security.core.GrantedAuthority;
@@ -25,7 +28,10 @@ import java.util.stream.Collectors;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
+    private final ObservationRegistry observationRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -105,16 +111,21 @@ public class JwtTokenProvider {
      * @return true if valid, false otherwise
      */
     public boolean validateToken(String token) {
-        try {
+        // shows up as its own span; the outcome tag also counts failures by kind
+        Observation observation = Observation.start("jwt.verify", observationRegistry);
+        String outcome = "invalid";
+        try (Observation.Scope scope = observation.openScope()) {
             // Try to parse the token - if successful, it's valid
             Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
                     .parseSignedClaims(token);
 
+            outcome = "valid";
             return true;
 
         } catch (ExpiredJwtException e) {
+            outcome = "expired";
             log.error("JWT token is expired: {}", e.getMessage());
             return false;
 
@@ -123,10 +134,12 @@ public class JwtTokenProvider {
             return false;
 
         } catch (MalformedJwtException e) {
+            outcome = "malformed";
             log.error("Invalid JWT token format: {}", e.getMessage());
             return false;
 
         } catch (SignatureException e) {
+            outcome = "bad_signature";
             log.error("Invalid JWT signature: {}", e.getMessage());
             return false;
 
@@ -137,6 +150,8 @@ public class JwtTokenProvider {
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
             return false;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
     }
 
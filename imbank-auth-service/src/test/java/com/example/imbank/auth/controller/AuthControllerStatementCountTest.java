@@ -0,0 +1,70 @@
+package com.example.imbank.auth.controller;
+
+import com.example.imbank.auth.entity.Role;
+import com.example.imbank.auth.entity.User;
+import com.example.imbank.auth.repository.RoleRepository;
+import com.example.imbank.auth.repository.UserRepository;
+import com.example.imbank.auth.security.CustomUserDetails;
+import com.example.imbank.auth.security.JwtTokenProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Set;
+
+import static com.example.imbank.observability.sql.StatementCountAssertions.assertStatementCount;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// /me is served from the principal the JWT filter loads. findByUsername is a query, so the EAGER
+// User.roles and the inverse User.employee each take a select of their own after the user's.
+// Keep in step with imbank.sql.budgets "[GET /api/auth/me]" in the config repo.
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthControllerStatementCountTest {
+
+    private static final int ME_STATEMENTS = 3;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JwtTokenProvider jwtTokenProvider;
+
+    private String accessToken;
+
+    @BeforeEach
+    void seed() {
+        Role admin = new Role();
+        admin.setName("ROLE_ADMIN");
+        Role user = new Role();
+        user.setName("ROLE_USER");
+
+        User account = new User();
+        account.setUsername("jsmith");
+        account.setEmail("jsmith@imbank.test");
+        account.setPassword("{noop}secret");
+        account.setRoles(Set.of(roleRepository.save(admin), roleRepository.save(user)));
+        accessToken = jwtTokenProvider.generateAccessToken(new CustomUserDetails(userRepository.save(account)));
+    }
+
+    @Test
+    void meLoadsUserRolesAndEmployee() throws Exception {
+        assertStatementCount(ME_STATEMENTS, () -> mockMvc.perform(get("/api/auth/me")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.roles", containsInAnyOrder("ROLE_ADMIN", "ROLE_USER"))));
+    }
+}
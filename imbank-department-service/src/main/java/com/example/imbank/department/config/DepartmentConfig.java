@@ -0,0 +1,17 @@
+package com.example.imbank.department.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "imbank.department")
+public class DepartmentConfig {
+    // employees moved per UPDATE (and per transaction) when reassigning
+    private int reassignChunkSize = 500;
+    // finished jobs stay queryable for this long
+    private long jobRetentionMinutes = 60;
+    // an unfinished job without progress for this long is failed and its departments released
+    private long jobStaleMinutes = 10;
+}
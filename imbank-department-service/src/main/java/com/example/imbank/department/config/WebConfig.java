@@ -0,0 +1,31 @@
+package com.example.imbank.department.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${imbank.http-cache.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
+    // Catalog reads may be kept briefly per caller; the rest keeps Spring Security's no-store default
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate(),
+                "/api/departments",
+                "/api/departments/{id:\\d+}",
+                "/api/departments/paginated",
+                "/api/departments/search",
+                "/api/departments/headcount",
+                "/api/departments/with-employees");
+        registry.addInterceptor(interceptor);
+    }
+}
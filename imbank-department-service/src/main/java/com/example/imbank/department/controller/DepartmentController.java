@@ -1,12 +1,19 @@
 package com.example.imbank.department.controller;
 
 
+import com.example.imbank.department.dto.DepartmentHeadcountDto;
 import com.example.imbank.department.dto.DepartmentRequestDto;
 import com.example.imbank.department.dto.DepartmentResponseDto;
+import com.example.imbank.department.dto.PageResponseDto;
 import com.example.imbank.department.service.DepartmentService;
+import com.example.imbank.department.service.DepartmentSnapshot;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
@@ -16,8 +23,13 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Locale;
 
 @Tag(name = "Department Management", description = "APIs for managing Departments")
 @RestController
@@ -36,12 +48,68 @@ public class DepartmentController {
 
 
     //anyone authenticated can vire the departrments
+    // body comes pre-rendered from the in-memory snapshot, no database access
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
     @GetMapping
-    public List<DepartmentResponseDto> getAllDepartments() {
-        return departmentService.getAllDepartments();
+    public ResponseEntity<byte[]> getAllDepartments(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest request) {
+        DepartmentSnapshot snapshot = departmentService.getDepartmentSnapshot();
+        if (request.checkNotModified(snapshot.getEtag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(snapshot.getEtag()).build();
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(snapshot.getEtag())
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip(acceptEncoding)) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzippedJson());
+        }
+        return response.body(snapshot.getJson());
+    }
+
+
+    // cursor pagination over the snapshot: pass the last id of a page as afterId for the next one
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
+    @GetMapping("/paginated")
+    public PageResponseDto<DepartmentResponseDto> getDepartmentsPaginated(
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        return departmentService.getDepartmentsPage(afterId, page, size);
+    }
+
+    // full list written row by row straight from the database, for exports
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamDepartments() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(departmentService::writeAllDepartments);
+    }
+
+    // employee count per department, salary totals are restricted to managers
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER') and (!#includeSalaryTotals or hasAnyRole('ADMIN', 'MANAGER'))")
+    @GetMapping("/headcount")
+    public List<DepartmentHeadcountDto> getDepartmentHeadcounts(
+            @RequestParam(defaultValue = "false") boolean includeSalaryTotals) {
+        return departmentService.getDepartmentHeadcounts(includeSalaryTotals);
+    }
+
+    // ranked name/description search served from the in-memory index
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
+    @GetMapping("/search")
+    public List<DepartmentResponseDto> searchDepartments(@RequestParam String keyword,
+                                                         @RequestParam(defaultValue = "20") int limit) {
+        return departmentService.searchDepartments(keyword, limit);
     }
 
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
+    @GetMapping("/with-employees")
+    public List<DepartmentResponseDto> getDepartmentsWithEmployees() {
+        return departmentService.getDepartmentsWithEmployees();
+    }
 
     @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
     @GetMapping("/{id}")
@@ -58,4 +126,35 @@ public class DepartmentController {
     public void deleteDepartment(@PathVariable Long id) {
         departmentService.deleteDepartment(id);
     }
+
+    // honours q-values: "gzip;q=0" is a refusal, and "*" covers gzip unless gzip is listed on its own
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double wildcard = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String param = parts[i].trim();
+                if (param.startsWith("q=") || param.startsWith("Q=")) {
+                    try {
+                        quality = Double.parseDouble(param.substring(2).trim());
+                    } catch (NumberFormatException ex) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzip = quality;
+            } else if (coding.equals("*")) {
+                wildcard = quality;
+            }
+        }
+        Double quality = gzip != null ? gzip : wildcard;
+        return quality != null && quality > 0;
+    }
 }
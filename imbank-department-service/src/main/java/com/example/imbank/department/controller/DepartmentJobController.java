@@ -0,0 +1,36 @@
+package com.example.imbank.department.controller;
+
+import com.example.imbank.department.dto.DepartmentJobRequestDto;
+import com.example.imbank.department.dto.DepartmentJobResponseDto;
+import com.example.imbank.department.service.DepartmentJobService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "Department Jobs", description = "Asynchronous department merge and delete with employee reassignment")
+@RestController
+@RequestMapping("/api/departments/jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class DepartmentJobController {
+    private final DepartmentJobService departmentJobService;
+
+    @PostMapping
+    public ResponseEntity<DepartmentJobResponseDto> submitJob(@Valid @RequestBody DepartmentJobRequestDto dto) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(departmentJobService.submitJob(dto));
+    }
+
+    @GetMapping("/{jobId}")
+    public DepartmentJobResponseDto getJob(@PathVariable String jobId) {
+        return departmentJobService.getJob(jobId);
+    }
+}
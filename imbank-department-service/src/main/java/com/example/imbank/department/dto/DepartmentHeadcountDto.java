@@ -0,0 +1,21 @@
+package com.example.imbank.department.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+public class DepartmentHeadcountDto {
+    private Long id;
+    private String name;
+    private String description;
+    private Long employeeCount;
+    // only filled in when salaries were requested
+    private BigDecimal salaryTotal;
+
+    public DepartmentHeadcountDto(Long id, String name, String description, Long employeeCount) {
+        this(id, name, description, employeeCount, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.imbank.department.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class DepartmentJobRequestDto {
+    @NotNull(message = "Job type is required")
+    private DepartmentJobType type;
+
+    @NotEmpty(message = "At least one source department is required")
+    private List<@NotNull Long> sourceDepartmentIds;
+
+    // required for MERGE, and for DELETE when the sources still have employees
+    private Long targetDepartmentId;
+}
@@ -0,0 +1,25 @@
+package com.example.imbank.department.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class DepartmentJobResponseDto {
+    private String id;
+    private DepartmentJobType type;
+    private DepartmentJobStatus status;
+    private List<Long> sourceDepartmentIds;
+    private Long targetDepartmentId;
+    private long totalEmployees;
+    private long movedEmployees;
+    private int completedDepartments;
+    private int chunks;
+    private String error;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
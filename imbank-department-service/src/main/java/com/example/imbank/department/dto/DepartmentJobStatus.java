@@ -0,0 +1,8 @@
+package com.example.imbank.department.dto;
+
+public enum DepartmentJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package com.example.imbank.department.dto;
+
+public enum DepartmentJobType {
+    // move every employee of the source departments into the target, then delete the sources
+    MERGE,
+    // delete the source departments; employees, if any, go to the target
+    DELETE
+}
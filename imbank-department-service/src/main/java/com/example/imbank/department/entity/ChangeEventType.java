@@ -0,0 +1,9 @@
+package com.example.imbank.department.entity;
+
+public enum ChangeEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    // set-based change over many rows, payload describes the affected range
+    BULK_UPDATED
+}
@@ -0,0 +1,74 @@
+package com.example.imbank.department.entity;
+
+import com.example.imbank.department.dto.DepartmentJobStatus;
+import com.example.imbank.department.dto.DepartmentJobType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One merge/delete job. Progress is written by the worker on whichever instance accepted the job, so a
+// status poll can land on any replica; heartbeatAt tells a live job from one whose instance died.
+@Entity
+@Table(name = "department_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DepartmentJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(length = 36)
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DepartmentJobType type;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private DepartmentJobStatus status;
+
+    // comma-separated, in processing order
+    @Column(name = "source_department_ids", nullable = false, length = 1000)
+    private String sourceDepartmentIds;
+
+    @Column(name = "target_department_id")
+    private Long targetDepartmentId;
+
+    @Column(name = "total_employees", nullable = false)
+    private long totalEmployees;
+
+    @Column(name = "moved_employees", nullable = false)
+    private long movedEmployees;
+
+    @Column(name = "completed_departments", nullable = false)
+    private int completedDepartments;
+
+    @Column(nullable = false)
+    private int chunks;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "submitted_at", nullable = false)
+    private LocalDateTime submittedAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    private LocalDateTime heartbeatAt;
+}
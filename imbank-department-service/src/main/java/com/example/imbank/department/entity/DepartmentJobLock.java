@@ -0,0 +1,26 @@
+package com.example.imbank.department.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+// A department held by an unfinished job. The primary key is the guard: a second job claiming the same
+// department fails its insert, whichever instance accepted it.
+@Entity
+@Table(name = "department_job_locks")
+@Getter
+@Setter
+@NoArgsConstructor
+public class DepartmentJobLock {
+
+    @Id
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "job_id", nullable = false, length = 36)
+    private String jobId;
+}
@@ -0,0 +1,27 @@
+package com.example.imbank.department.repository;
+
+import com.example.imbank.department.entity.DepartmentJobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DepartmentJobLockRepository extends JpaRepository<DepartmentJobLock, Long> {
+
+    // Native - a plain INSERT, so a department already held fails on the primary key instead of being
+    // merged over the way save() would
+    @Modifying
+    @Query(value = "INSERT INTO department_job_locks (department_id, job_id) VALUES (:departmentId, :jobId)",
+            nativeQuery = true)
+    int lock(@Param("departmentId") Long departmentId, @Param("jobId") String jobId);
+
+    @Modifying
+    @Query("DELETE FROM DepartmentJobLock l WHERE l.jobId = :jobId")
+    int releaseAll(@Param("jobId") String jobId);
+
+    @Modifying
+    @Query("DELETE FROM DepartmentJobLock l WHERE l.departmentId = :departmentId")
+    int release(@Param("departmentId") Long departmentId);
+}
@@ -0,0 +1,52 @@
+package com.example.imbank.department.repository;
+
+import com.example.imbank.department.dto.DepartmentJobStatus;
+import com.example.imbank.department.entity.DepartmentJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DepartmentJobRepository extends JpaRepository<DepartmentJob, String> {
+
+    @Modifying
+    @Query("UPDATE DepartmentJob j SET j.status = com.example.imbank.department.dto.DepartmentJobStatus.RUNNING, " +
+            "j.startedAt = :now, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.status = com.example.imbank.department.dto.DepartmentJobStatus.PENDING")
+    int markRunning(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    // JPQL - Progress; runs in the same transaction as the chunk it counts. Matches nothing once the job
+    // has been failed as stale, so a worker that was only slow stops instead of working unguarded
+    @Modifying
+    @Query("UPDATE DepartmentJob j SET j.movedEmployees = j.movedEmployees + :moved, j.chunks = j.chunks + :chunks, " +
+            "j.completedDepartments = j.completedDepartments + :completed, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.status = com.example.imbank.department.dto.DepartmentJobStatus.RUNNING")
+    int addProgress(@Param("id") String id,
+                    @Param("moved") long moved,
+                    @Param("chunks") int chunks,
+                    @Param("completed") int completed,
+                    @Param("now") LocalDateTime now);
+
+    // JPQL - First outcome wins; the worker and the stale-job check may both try
+    @Modifying
+    @Query("UPDATE DepartmentJob j SET j.status = :status, j.error = :error, j.finishedAt = :now, j.heartbeatAt = :now " +
+            "WHERE j.id = :id AND j.finishedAt IS NULL")
+    int finish(@Param("id") String id,
+               @Param("status") DepartmentJobStatus status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+
+    // Jobs whose worker stopped reporting, e.g. its instance was restarted mid-run
+    List<DepartmentJob> findByStatusInAndHeartbeatAtBefore(Collection<DepartmentJobStatus> statuses,
+                                                           LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM DepartmentJob j WHERE j.finishedAt < :cutoff")
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,27 +1,53 @@
 package com.example.imbank.department.repository;
 
+import com.example.imbank.department.dto.DepartmentHeadcountDto;
+import com.example.imbank.department.dto.DepartmentResponseDto;
 import com.example.imbank.department.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
 
     Optional<Department>findByName(String name);
 
-    // JPQL - Find departments with employees
-    @Query("SELECT DISTINCT d FROM Department d WHERE d.id IN (SELECT e.department.id FROM Employee e)")
+    // JPQL - Find departments with employees; EXISTS stops at the first matching employee per department
+    @Query("SELECT d FROM Department d WHERE EXISTS (SELECT 1 FROM Employee e WHERE e.department = d) ORDER BY d.id")
     List<Department> findDepartmentsWithEmployees();
 
-    // JPQL - Search by name or description
-    @Query("SELECT d FROM Department d WHERE LOWER(d.name) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "OR LOWER(d.description) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    List<Department> searchByKeyword(@Param("keyword") String keyword);
+    // JPQL - Headcount per department in one pass; counting only needs the department_id FK index
+    @Query("SELECT new com.example.imbank.department.dto.DepartmentHeadcountDto(d.id, d.name, d.description, COUNT(e.id)) " +
+            "FROM Department d LEFT JOIN Employee e ON e.department = d " +
+            "GROUP BY d.id, d.name, d.description ORDER BY d.id")
+    List<DepartmentHeadcountDto> findHeadcounts();
+
+    // JPQL - Headcount and salary total per department
+    @Query("SELECT new com.example.imbank.department.dto.DepartmentHeadcountDto(d.id, d.name, d.description, COUNT(e.id), SUM(e.salary)) " +
+            "FROM Department d LEFT JOIN Employee e ON e.department = d " +
+            "GROUP BY d.id, d.name, d.description ORDER BY d.id")
+    List<DepartmentHeadcountDto> findHeadcountsWithSalaryTotals();
+
+    // JPQL - Every department as DTOs, row by row; MIN_VALUE makes Connector/J stream instead of buffering the result
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.imbank.department.dto.DepartmentResponseDto(d.id, d.name, d.description) " +
+            "FROM Department d ORDER BY d.id")
+    Stream<DepartmentResponseDto> streamAll();
+
+    // JPQL - Latest modification, part of the catalog staleness check
+    @Query("SELECT MAX(d.updatedAt) FROM Department d")
+    LocalDateTime findLastUpdatedAt();
 
 }
@@ -0,0 +1,35 @@
+package com.example.imbank.department.repository;
+
+import com.example.imbank.department.entity.Employee;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    long countByDepartment_Id(Long departmentId);
+
+    long countByDepartment_IdIn(Collection<Long> departmentIds);
+
+    // Native - locks the next chunk of a department's employees in id order, so each chunk's change event
+    // can name the rows it moved
+    @Query(value = "SELECT id FROM employees WHERE department_id = :sourceId ORDER BY id LIMIT :limit FOR UPDATE",
+            nativeQuery = true)
+    List<Long> lockChunk(@Param("sourceId") Long sourceId, @Param("limit") int limit);
+
+    // Native - bumps version and updated_at like employee-service writes do, so delta sync picks the rows up
+    @Modifying
+    @Query(value = "UPDATE employees SET department_id = :targetId, version = version + 1, updated_at = :now " +
+            "WHERE id IN (:ids) AND department_id = :sourceId", nativeQuery = true)
+    int reassign(@Param("ids") Collection<Long> ids,
+                 @Param("sourceId") Long sourceId,
+                 @Param("targetId") Long targetId,
+                 @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,136 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.dto.DepartmentResponseDto;
+import com.example.imbank.department.entity.BaseEntity;
+import com.example.imbank.department.entity.Department;
+import com.example.imbank.department.repository.DepartmentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+// Holds the current DepartmentSnapshot. Rebuilt after a department write commits on this instance;
+// a periodic count/max(updated_at) check picks up writes committed by other instances.
+@Slf4j
+@Component
+public class DepartmentCatalog {
+
+    private final DepartmentRepository departmentRepository;
+    private final TransactionTemplate readTransaction;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicLong versions = new AtomicLong();
+
+    private volatile DepartmentSnapshot current;
+
+    public DepartmentCatalog(DepartmentRepository departmentRepository, PlatformTransactionManager transactionManager) {
+        this.departmentRepository = departmentRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        // AFTER_COMMIT listeners still see the finished transaction bound to the thread
+        this.readTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readTransaction.setReadOnly(true);
+    }
+
+    public DepartmentSnapshot current() {
+        DepartmentSnapshot snapshot = current;
+        return snapshot != null ? snapshot : rebuild();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        rebuild();
+    }
+
+    @TransactionalEventListener
+    public void onDepartmentChanged(DepartmentChangedEvent event) {
+        log.debug("Department {} {}, rebuilding catalog", event.departmentId(), event.eventType());
+        rebuild();
+    }
+
+    @Scheduled(fixedDelayString = "${imbank.catalog.refresh-check-ms:30000}",
+            initialDelayString = "${imbank.catalog.refresh-check-ms:30000}")
+    public void refreshIfStale() {
+        DepartmentSnapshot snapshot = current;
+        if (snapshot == null) {
+            return;
+        }
+        long count = departmentRepository.count();
+        LocalDateTime lastUpdatedAt = departmentRepository.findLastUpdatedAt();
+        if (count != snapshot.getCount() || !Objects.equals(lastUpdatedAt, snapshot.getLastUpdatedAt())) {
+            log.info("Department table changed elsewhere, rebuilding catalog");
+            rebuild();
+        }
+    }
+
+    // serialized so a slower rebuild can never overwrite a newer one
+    public synchronized DepartmentSnapshot rebuild() {
+        List<Department> departments = readTransaction.execute(status -> departmentRepository.findAll(Sort.by("id")));
+
+        List<DepartmentResponseDto> dtos = departments.stream()
+                .map(d -> new DepartmentResponseDto(d.getId(), d.getName(), d.getDescription()))
+                .toList();
+        LocalDateTime lastUpdatedAt = departments.stream()
+                .map(BaseEntity::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+
+        byte[] json = toJson(dtos);
+        DepartmentSnapshot snapshot = new DepartmentSnapshot(
+                versions.incrementAndGet(), dtos, json, gzip(json), etag(json), lastUpdatedAt);
+        current = snapshot;
+
+        log.debug("Department catalog v{} built: {} departments, {} bytes ({} gzipped)",
+                snapshot.getVersion(), dtos.size(), json.length, snapshot.getGzippedJson().length);
+        return snapshot;
+    }
+
+    private byte[] toJson(List<DepartmentResponseDto> departments) {
+        try {
+            return objectMapper.writeValueAsBytes(departments);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Department catalog is not serializable", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    // content hash rather than the local version, so every instance hands out the same tag for the same data
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(Arrays.copyOf(digest, 16)) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.entity.ChangeEventType;
+
+// Published inside department write transactions; listeners act once it commits
+public record DepartmentChangedEvent(Long departmentId, ChangeEventType eventType) {
+}
@@ -0,0 +1,9 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.dto.DepartmentJobRequestDto;
+import com.example.imbank.department.dto.DepartmentJobResponseDto;
+
+public interface DepartmentJobService {
+    DepartmentJobResponseDto submitJob(DepartmentJobRequestDto dto);
+    DepartmentJobResponseDto getJob(String jobId);
+}
@@ -0,0 +1,267 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.config.DepartmentConfig;
+import com.example.imbank.department.dto.DepartmentJobRequestDto;
+import com.example.imbank.department.dto.DepartmentJobResponseDto;
+import com.example.imbank.department.dto.DepartmentJobStatus;
+import com.example.imbank.department.dto.DepartmentJobType;
+import com.example.imbank.department.entity.ChangeEventType;
+import com.example.imbank.department.entity.DepartmentJob;
+import com.example.imbank.department.entity.OutboxEvent;
+import com.example.imbank.department.exception.BadRequestException;
+import com.example.imbank.department.exception.ResourceNotFoundException;
+import com.example.imbank.department.repository.DepartmentJobLockRepository;
+import com.example.imbank.department.repository.DepartmentJobRepository;
+import com.example.imbank.department.repository.DepartmentRepository;
+import com.example.imbank.department.repository.EmployeeRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+// Jobs and the departments they hold live in the database, so status polls work on any replica and two
+// replicas can never run jobs on the same department. The worker runs on the instance that accepted the
+// job; if that instance dies, the job is failed once its heartbeat goes stale and can be resubmitted.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DepartmentJobServiceImpl implements DepartmentJobService {
+
+    private static final List<DepartmentJobStatus> UNFINISHED =
+            List.of(DepartmentJobStatus.PENDING, DepartmentJobStatus.RUNNING);
+
+    private final DepartmentRepository departmentRepository;
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentJobRepository departmentJobRepository;
+    private final DepartmentJobLockRepository departmentJobLockRepository;
+    private final OutboxWriter outboxWriter;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final DepartmentConfig departmentConfig;
+
+    private final ExecutorService jobExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public DepartmentJobResponseDto submitJob(DepartmentJobRequestDto dto) {
+        List<Long> sources = dto.getSourceDepartmentIds().stream().distinct().toList();
+        Long target = dto.getTargetDepartmentId();
+        log.info("Submitting department {} job: sources {} -> target {}", dto.getType(), sources, target);
+
+        if (dto.getType() == DepartmentJobType.MERGE && target == null) {
+            throw new BadRequestException("A target department is required to merge departments");
+        }
+        if (target != null && sources.contains(target)) {
+            throw new BadRequestException("Target department cannot also be a source");
+        }
+        for (Long source : sources) {
+            requireDepartment(source);
+        }
+        if (target != null) {
+            requireDepartment(target);
+        }
+
+        long totalEmployees = employeeRepository.countByDepartment_IdIn(sources);
+        if (totalEmployees > 0 && target == null) {
+            throw new BadRequestException("Source departments still have " + totalEmployees
+                    + " employees, a target department is required to reassign them");
+        }
+
+        DepartmentJob job = transactionTemplate.execute(status ->
+                create(dto.getType(), sources, target, totalEmployees));
+        jobExecutor.submit(() -> run(job.getId(), sources, target));
+        return toResponseDto(job);
+    }
+
+    @Override
+    public DepartmentJobResponseDto getJob(String jobId) {
+        return departmentJobRepository.findById(jobId)
+                .map(this::toResponseDto)
+                .orElseThrow(() -> new ResourceNotFoundException("Department job", "id", jobId));
+    }
+
+    @Scheduled(fixedDelay = 60 * 1000, initialDelay = 60 * 1000)
+    public void failStaleJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(departmentConfig.getJobStaleMinutes());
+        for (DepartmentJob job : departmentJobRepository.findByStatusInAndHeartbeatAtBefore(UNFINISHED, cutoff)) {
+            log.warn("Department job {} stopped reporting progress at {}, marking it failed", job.getId(),
+                    job.getHeartbeatAt());
+            finish(job.getId(), DepartmentJobStatus.FAILED, "Job was interrupted; resubmit it for what is left");
+        }
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000)
+    public void purgeFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(departmentConfig.getJobRetentionMinutes());
+        transactionTemplate.executeWithoutResult(status -> departmentJobRepository.deleteFinishedBefore(cutoff));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    // the job row and its department locks commit together; a department held by another job fails
+    // the lock insert and rolls the whole submission back
+    private DepartmentJob create(DepartmentJobType type, List<Long> sources, Long target, long totalEmployees) {
+        LocalDateTime now = LocalDateTime.now();
+        DepartmentJob job = new DepartmentJob();
+        job.setType(type);
+        job.setStatus(DepartmentJobStatus.PENDING);
+        job.setSourceDepartmentIds(sources.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        job.setTargetDepartmentId(target);
+        job.setTotalEmployees(totalEmployees);
+        job.setSubmittedAt(now);
+        job.setHeartbeatAt(now);
+        departmentJobRepository.saveAndFlush(job);
+
+        List<Long> claimed = new ArrayList<>(sources);
+        if (target != null) {
+            claimed.add(target);
+        }
+        for (Long id : claimed) {
+            try {
+                departmentJobLockRepository.lock(id, job.getId());
+            } catch (DataIntegrityViolationException ex) {
+                throw new BadRequestException("Department " + id + " is already part of a running job");
+            }
+        }
+        return job;
+    }
+
+    private void run(String jobId, List<Long> sources, Long target) {
+        transactionTemplate.executeWithoutResult(status ->
+                departmentJobRepository.markRunning(jobId, LocalDateTime.now()));
+        try {
+            for (Long source : sources) {
+                if (target != null) {
+                    moveEmployees(jobId, source, target);
+                }
+                transactionTemplate.executeWithoutResult(status -> removeDepartment(jobId, source, target));
+            }
+            finish(jobId, DepartmentJobStatus.COMPLETED, null);
+            log.info("Department job {} completed", jobId);
+        } catch (RuntimeException ex) {
+            // finished chunks stay committed; the job can be resubmitted for what is left
+            log.error("Department job {} failed", jobId, ex);
+            finish(jobId, DepartmentJobStatus.FAILED, ex.getMessage());
+        }
+    }
+
+    // one short transaction per chunk, so row locks are held for a single bounded UPDATE; the progress
+    // update commits with the chunk it counts
+    private void moveEmployees(String jobId, Long source, Long target) {
+        int chunkSize = departmentConfig.getReassignChunkSize();
+        int moved;
+        do {
+            moved = transactionTemplate.execute(status -> {
+                int count = reassign(source, target, chunkSize);
+                recordProgress(jobId, count, 1, 0);
+                return count;
+            });
+            log.debug("Department job {}: moved {} employees from {} to {}", jobId, moved, source, target);
+        } while (moved == chunkSize);
+    }
+
+    private void removeDepartment(String jobId, Long source, Long target) {
+        int moved = 0;
+        if (target != null) {
+            // employees assigned to the source after the last chunk move with the delete
+            int chunkSize = departmentConfig.getReassignChunkSize();
+            int count;
+            do {
+                count = reassign(source, target, chunkSize);
+                moved += count;
+            } while (count == chunkSize);
+        } else if (employeeRepository.countByDepartment_Id(source) > 0) {
+            throw new BadRequestException("Department " + source + " gained employees while the job was running");
+        }
+
+        departmentRepository.deleteById(source);
+        outboxWriter.append(OutboxEvent.DEPARTMENT, source, ChangeEventType.DELETED, Map.of("id", source));
+        eventPublisher.publishEvent(new DepartmentChangedEvent(source, ChangeEventType.DELETED));
+        recordProgress(jobId, moved, 0, 1);
+    }
+
+    private void recordProgress(String jobId, long moved, int chunks, int completedDepartments) {
+        if (departmentJobRepository.addProgress(jobId, moved, chunks, completedDepartments, LocalDateTime.now()) == 0) {
+            // rolls back the chunk; another instance may already hold these departments
+            throw new IllegalStateException("Job " + jobId + " is no longer running");
+        }
+    }
+
+    private void finish(String jobId, DepartmentJobStatus status, String error) {
+        String message = error != null && error.length() > 500 ? error.substring(0, 500) : error;
+        transactionTemplate.executeWithoutResult(tx -> {
+            departmentJobRepository.finish(jobId, status, message, LocalDateTime.now());
+            departmentJobLockRepository.releaseAll(jobId);
+        });
+    }
+
+    private int reassign(Long source, Long target, int limit) {
+        List<Long> ids = employeeRepository.lockChunk(source, limit);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        int moved = employeeRepository.reassign(ids, source, target, LocalDateTime.now());
+        outboxWriter.append(OutboxEvent.DEPARTMENT, target, ChangeEventType.BULK_UPDATED, Map.of(
+                "sourceDepartmentId", source,
+                "targetDepartmentId", target,
+                "employeesMoved", moved));
+        // the employee stream only carries Employee events; same shape as employee-service's bulk writes
+        outboxWriter.append(OutboxEvent.EMPLOYEE, null, ChangeEventType.BULK_UPDATED,
+                employeeBulkPayload(ids, target, moved));
+        return moved;
+    }
+
+    // one event per chunk instead of per row; consumers re-read the listed employees
+    private static Map<String, Object> employeeBulkPayload(List<Long> ids, Long target, int moved) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("field", "department");
+        payload.put("fromId", ids.get(0));
+        payload.put("toId", ids.get(ids.size() - 1));
+        payload.put("rowsAffected", moved);
+        payload.put("departmentId", target);
+        payload.put("employeeIds", ids);
+        return payload;
+    }
+
+    private void requireDepartment(Long id) {
+        if (!departmentRepository.existsById(id)) {
+            throw new ResourceNotFoundException("Department", "id", id);
+        }
+    }
+
+    private DepartmentJobResponseDto toResponseDto(DepartmentJob job) {
+        return DepartmentJobResponseDto.builder()
+                .id(job.getId())
+                .type(job.getType())
+                .status(job.getStatus())
+                .sourceDepartmentIds(Arrays.stream(job.getSourceDepartmentIds().split(","))
+                        .map(Long::valueOf)
+                        .toList())
+                .targetDepartmentId(job.getTargetDepartmentId())
+                .totalEmployees(job.getTotalEmployees())
+                .movedEmployees(job.getMovedEmployees())
+                .completedDepartments(job.getCompletedDepartments())
+                .chunks(job.getChunks())
+                .error(job.getError())
+                .submittedAt(job.getSubmittedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
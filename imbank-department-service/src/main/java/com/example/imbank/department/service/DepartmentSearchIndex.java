@@ -0,0 +1,100 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.dto.DepartmentResponseDto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// Immutable token index over department name and description, built with each snapshot.
+// Every query token must match a word exactly or as a prefix; name hits outrank description hits
+// and exact words outrank prefixes.
+final class DepartmentSearchIndex {
+
+    private static final int NAME_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_MULTIPLIER = 2;
+
+    private final List<DepartmentResponseDto> departments;
+    private final NavigableMap<String, Map<Integer, Integer>> postings;
+
+    private DepartmentSearchIndex(List<DepartmentResponseDto> departments,
+                                  NavigableMap<String, Map<Integer, Integer>> postings) {
+        this.departments = departments;
+        this.postings = postings;
+    }
+
+    static DepartmentSearchIndex build(List<DepartmentResponseDto> departments) {
+        NavigableMap<String, Map<Integer, Integer>> postings = new TreeMap<>();
+        for (int doc = 0; doc < departments.size(); doc++) {
+            DepartmentResponseDto department = departments.get(doc);
+            addTokens(postings, doc, department.getName(), NAME_WEIGHT);
+            addTokens(postings, doc, department.getDescription(), DESCRIPTION_WEIGHT);
+        }
+        return new DepartmentSearchIndex(departments, postings);
+    }
+
+    List<DepartmentResponseDto> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Integer, Integer> scores = null;
+        for (String token : tokens) {
+            Map<Integer, Integer> tokenScores = match(token);
+            if (scores == null) {
+                scores = tokenScores;
+            } else {
+                scores.keySet().retainAll(tokenScores.keySet());
+                scores.replaceAll((doc, score) -> score + tokenScores.get(doc));
+            }
+            if (scores.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        return scores.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                        .thenComparing(e -> departments.get(e.getKey()).getName(),
+                                Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
+                .limit(limit)
+                .map(e -> departments.get(e.getKey()))
+                .toList();
+    }
+
+    // best score per department for one query token, across every indexed word it prefixes
+    private Map<Integer, Integer> match(String token) {
+        Map<Integer, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Integer, Integer>> entry
+                : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            int multiplier = entry.getKey().length() == token.length() ? EXACT_MULTIPLIER : 1;
+            entry.getValue().forEach((doc, weight) -> scores.merge(doc, weight * multiplier, Math::max));
+        }
+        return scores;
+    }
+
+    private static void addTokens(NavigableMap<String, Map<Integer, Integer>> postings, int doc, String text, int weight) {
+        for (String token : tokenize(text)) {
+            postings.computeIfAbsent(token, t -> new HashMap<>()).merge(doc, weight, Math::max);
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
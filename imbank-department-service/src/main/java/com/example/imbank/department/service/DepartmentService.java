@@ -1,13 +1,26 @@
 package com.example.imbank.department.service;
 
+import com.example.imbank.department.dto.DepartmentHeadcountDto;
 import com.example.imbank.department.dto.DepartmentRequestDto;
 import com.example.imbank.department.dto.DepartmentResponseDto;
+import com.example.imbank.department.dto.PageResponseDto;
+
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
 
 public interface DepartmentService {
     DepartmentResponseDto createDepartment(DepartmentRequestDto departmentRequestDto);
     List<DepartmentResponseDto> getAllDepartments();
+    DepartmentSnapshot getDepartmentSnapshot();
     DepartmentResponseDto getDepartmentById(Long id);
     DepartmentResponseDto updateDepartment(Long id, DepartmentRequestDto dto);
     void deleteDepartment(Long id);
+    List<DepartmentHeadcountDto> getDepartmentHeadcounts(boolean includeSalaryTotals);
+    List<DepartmentResponseDto> getDepartmentsWithEmployees();
+    List<DepartmentResponseDto> searchDepartments(String keyword, int limit);
+
+    // Pagination & streaming
+    PageResponseDto<DepartmentResponseDto> getDepartmentsPage(Long afterId, int page, int size);
+    void writeAllDepartments(OutputStream out) throws IOException;
 }
@@ -1,25 +1,60 @@
 package com.example.imbank.department.service;
 
 
+import com.example.imbank.department.dto.DepartmentHeadcountDto;
 import com.example.imbank.department.dto.DepartmentRequestDto;
 import com.example.imbank.department.dto.DepartmentResponseDto;
+import com.example.imbank.department.dto.PageResponseDto;
+import com.example.imbank.department.entity.ChangeEventType;
 import com.example.imbank.department.entity.Department;
+import com.example.imbank.department.entity.OutboxEvent;
+import com.example.imbank.department.repository.DepartmentJobLockRepository;
 import com.example.imbank.department.repository.DepartmentRepository;
+import com.example.imbank.department.repository.EmployeeRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.example.imbank.department.exception.BadRequestException;
+import com.example.imbank.department.exception.ConflictException;
 import com.example.imbank.department.exception.ResourceNotFoundException;
 import lombok.extern.slf4j.Slf4j;
 
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DepartmentServiceImpl implements DepartmentService {
+    private static final int MAX_PAGE_SIZE = 500;
+
+    // job_id of the lock a plain delete holds for its own transaction
+    private static final String DELETE_LOCK_OWNER = "department-delete";
+
     private final DepartmentRepository departmentRepository;
+    private final DepartmentJobLockRepository departmentJobLockRepository;
+    private final EmployeeRepository employeeRepository;
+    private final OutboxWriter outboxWriter;
+    private final DepartmentCatalog departmentCatalog;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    // FLUSH_AFTER_WRITE_VALUE is on by default and would flush the socket after every exported row
+    private final ObjectWriter exportRowWriter = objectMapper.writerFor(DepartmentResponseDto.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
 
     @Override
+    @Transactional
     public DepartmentResponseDto createDepartment(DepartmentRequestDto dto) {
         log.info("Creating department with name: {}", dto.getName());
 
@@ -30,18 +65,20 @@ public class DepartmentServiceImpl implements DepartmentService {
         Department saved = departmentRepository.save(department);
         log.info("Department created successfully with id: {}", saved.getId());
 
-        return toResponseDto(saved);
+        DepartmentResponseDto response = toResponseDto(saved);
+        outboxWriter.append(OutboxEvent.DEPARTMENT, saved.getId(), ChangeEventType.CREATED, response);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(saved.getId(), ChangeEventType.CREATED));
+        return response;
     }
 
     @Override
     public List<DepartmentResponseDto> getAllDepartments() {
-        log.debug("Fetching all departments");
-        List<Department> departments = departmentRepository.findAll();
-        log.debug("Found {} departments", departments.size());
+        return departmentCatalog.current().getDepartments();
+    }
 
-        return departments.stream()
-                .map(this::toResponseDto)
-                .toList();
+    @Override
+    public DepartmentSnapshot getDepartmentSnapshot() {
+        return departmentCatalog.current();
     }
 
     @Override
@@ -58,6 +95,7 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @Transactional
     public DepartmentResponseDto updateDepartment(Long id, DepartmentRequestDto dto) {
         log.info("Updating department with id: {}", id);
 
@@ -73,16 +111,103 @@ public class DepartmentServiceImpl implements DepartmentService {
         Department updated = departmentRepository.save(department);
         log.info("Department updated successfully with id: {}", updated.getId());
 
-     //   return toResponseDto(updated);
-        return null;
+        DepartmentResponseDto response = toResponseDto(updated);
+        outboxWriter.append(OutboxEvent.DEPARTMENT, updated.getId(), ChangeEventType.UPDATED, response);
+        eventPublisher.publishEvent(new DepartmentChangedEvent(updated.getId(), ChangeEventType.UPDATED));
+        return response;
     }
 
     @Override
+    @Transactional
     public void deleteDepartment(Long id){
         if(!departmentRepository.existsById(id)){
             throw new ResourceNotFoundException("Department", "id", id);
         }
+        // claims the department the way a job does: a job holding it fails this insert, and a job
+        // submitted meanwhile waits on the row until the delete commits
+        try {
+            departmentJobLockRepository.lock(id, DELETE_LOCK_OWNER);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("Department " + id + " is part of a running job, retry once it has finished");
+        }
+        long employees = employeeRepository.countByDepartment_Id(id);
+        if (employees > 0) {
+            throw new BadRequestException("Department " + id + " still has " + employees
+                    + " employees, reassign them with a DELETE or MERGE job at /api/departments/jobs");
+        }
         departmentRepository.deleteById(id);
+        departmentJobLockRepository.release(id);
+        outboxWriter.append(OutboxEvent.DEPARTMENT, id, ChangeEventType.DELETED, Map.of("id", id));
+        eventPublisher.publishEvent(new DepartmentChangedEvent(id, ChangeEventType.DELETED));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentHeadcountDto> getDepartmentHeadcounts(boolean includeSalaryTotals) {
+        return includeSalaryTotals
+                ? departmentRepository.findHeadcountsWithSalaryTotals()
+                : departmentRepository.findHeadcounts();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<DepartmentResponseDto> getDepartmentsWithEmployees() {
+        return departmentRepository.findDepartmentsWithEmployees()
+                .stream()
+                .map(this::toResponseDto)
+                .toList();
+    }
+
+    @Override
+    public List<DepartmentResponseDto> searchDepartments(String keyword, int limit) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BadRequestException("Search keyword must not be blank");
+        }
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+        return departmentCatalog.current().search(keyword, limit);
+    }
+
+    @Override
+    public PageResponseDto<DepartmentResponseDto> getDepartmentsPage(Long afterId, int page, int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new BadRequestException("size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        if (page < 0) {
+            throw new BadRequestException("page must not be negative");
+        }
+
+        DepartmentSnapshot snapshot = departmentCatalog.current();
+        List<DepartmentResponseDto> departments = snapshot.getDepartments();
+        int total = departments.size();
+        // afterId is a stable cursor, page is kept for clients that still count pages
+        // page * size in long: a huge page number must land past the end, not overflow to a negative index
+        int from = (int) Math.min(afterId != null ? snapshot.indexAfter(afterId) : (long) page * size, total);
+        int to = Math.min(from + size, total);
+
+        return new PageResponseDto<>(
+                departments.subList(from, to),
+                from / size,
+                size,
+                total,
+                (total + size - 1) / size,
+                to == total
+        );
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void writeAllDepartments(OutputStream out) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+             Stream<DepartmentResponseDto> departments = departmentRepository.streamAll()) {
+            generator.writeStartArray();
+            Iterator<DepartmentResponseDto> rows = departments.iterator();
+            while (rows.hasNext()) {
+                exportRowWriter.writeValue(generator, rows.next());
+            }
+            generator.writeEndArray();
+        }
     }
 
     private DepartmentResponseDto toResponseDto(Department department){
@@ -0,0 +1,55 @@
+package com.example.imbank.department.service;
+
+import com.example.imbank.department.dto.DepartmentResponseDto;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Immutable view of the department table with the list endpoint body already rendered
+@Getter
+public final class DepartmentSnapshot {
+
+    private final long version;
+    private final List<DepartmentResponseDto> departments;
+    private final byte[] json;
+    private final byte[] gzippedJson;
+    private final String etag;
+    // cheap fingerprint of the table this was built from, compared by the periodic staleness check
+    private final long count;
+    private final LocalDateTime lastUpdatedAt;
+    @Getter(AccessLevel.NONE)
+    private final DepartmentSearchIndex searchIndex;
+
+    DepartmentSnapshot(long version, List<DepartmentResponseDto> departments, byte[] json, byte[] gzippedJson,
+                       String etag, LocalDateTime lastUpdatedAt) {
+        this.version = version;
+        this.departments = List.copyOf(departments);
+        this.searchIndex = DepartmentSearchIndex.build(this.departments);
+        this.json = json;
+        this.gzippedJson = gzippedJson;
+        this.etag = etag;
+        this.count = departments.size();
+        this.lastUpdatedAt = lastUpdatedAt;
+    }
+
+    // position of the first department with an id greater than the given one; departments are sorted by id
+    public int indexAfter(long id) {
+        int low = 0;
+        int high = departments.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (departments.get(mid).getId() <= id) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    public List<DepartmentResponseDto> search(String keyword, int limit) {
+        return searchIndex.search(keyword, limit);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.imbank.department.controller;
+
+import com.example.imbank.department.entity.Department;
+import com.example.imbank.department.repository.DepartmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static com.example.imbank.observability.sql.StatementCountAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Department has no associations, findById is its only statement. Keep in step with
+// imbank.sql.budgets "[GET /api/departments/{id}]" in the config repo.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class DepartmentControllerStatementCountTest {
+
+    private static final int GET_BY_ID_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private Long departmentId;
+
+    @BeforeEach
+    void seed() {
+        Department department = new Department();
+        department.setName("Treasury");
+        departmentId = departmentRepository.save(department).getId();
+    }
+
+    @Test
+    void getDepartmentByIdRunsOneStatement() throws Exception {
+        assertStatementCount(GET_BY_ID_STATEMENTS, () -> mockMvc.perform(get("/api/departments/{id}", departmentId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Treasury")));
+    }
+}
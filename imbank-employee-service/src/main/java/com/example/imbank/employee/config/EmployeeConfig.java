@@ -13,4 +13,6 @@ public class EmployeeConfig {
     private BigDecimal defaultSalary;
     private BigDecimal minSalary;
     private BigDecimal maxSalary;
+    // rows per id window in set-based bulk updates
+    private int bulkChunkSize = 500;
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.example.imbank.employee.config;
+
+import com.example.imbank.employee.entity.OutboxEvent;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "imbank.outbox")
+public class OutboxConfig {
+    // aggregate types this service's relay is responsible for
+    private List<String> aggregateTypes = new ArrayList<>(List.of(OutboxEvent.EMPLOYEE));
+    private int batchSize = 200;
+    private long pollIntervalMs = 500;
+    // published events are kept this long for stream resume and late subscribers
+    private int retentionHours = 72;
+    private List<Subscriber> subscribers = new ArrayList<>();
+
+    @Data
+    public static class Subscriber {
+        // Eureka service id, called through the load balancer
+        private String serviceId;
+        private String path;
+    }
+}
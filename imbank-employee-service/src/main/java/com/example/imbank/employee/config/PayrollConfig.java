@@ -0,0 +1,21 @@
+package com.example.imbank.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "imbank.payroll")
+public class PayrollConfig {
+    // employee ids covered by one partition
+    private int partitionSize = 5000;
+    // rows written (and checkpointed) per transaction inside a partition
+    private int pageSize = 500;
+    // partitions processed at once - keep below the connection pool size
+    private int parallelism = 4;
+    private int periodsPerYear = 12;
+    private BigDecimal taxRate = new BigDecimal("0.30");
+}
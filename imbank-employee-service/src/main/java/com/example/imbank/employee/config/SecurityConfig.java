@@ -3,13 +3,23 @@ package com.example.imbank.employee.config;
 import com.example.imbank.employee.security.JwtAccessDeniedHandler;
 import com.example.imbank.employee.security.JwtAuthenticationEntryPoint;
 import com.example.imbank.employee.security.JwtAuthenticationFilter;
+import com.example.imbank.observability.MetricsProperties;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
@@ -33,7 +43,7 @@ public class SecurityConfig {
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
         configuration.setAllowedOrigins(List.of("*"));
-        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
+        configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS"));
         configuration.setAllowedHeaders(List.of("*"));
         configuration.setAllowCredentials(false);
 
@@ -42,6 +52,37 @@ public class SecurityConfig {
         return source;
     }
 
+    // Prometheus scrapes with HTTP Basic (imbank.metrics.*); checked before the JWT chain below
+    @Bean
+    @Order(1)
+    public SecurityFilterChain metricsSecurityFilterChain(HttpSecurity http, MetricsProperties metricsProperties)
+            throws Exception {
+        String scrapePassword = metricsProperties.getScrapePassword();
+        boolean configured = scrapePassword != null && !scrapePassword.isBlank();
+        http
+                .securityMatcher("/actuator/prometheus")
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .httpBasic(Customizer.withDefaults())
+                .authenticationManager(scrapeAuthenticationManager(metricsProperties))
+                .authorizeHttpRequests(auth -> {
+                    if (configured) {
+                        auth.anyRequest().hasRole("METRICS");
+                    } else {
+                        auth.anyRequest().denyAll();
+                    }
+                });
+        return http.build();
+    }
+
+    private static AuthenticationManager scrapeAuthenticationManager(MetricsProperties metricsProperties) {
+        UserDetails scraper = User.withUsername(metricsProperties.getScrapeUsername())
+                .password("{noop}" + metricsProperties.getScrapePassword())
+                .roles("METRICS")
+                .build();
+        return new ProviderManager(new DaoAuthenticationProvider(new InMemoryUserDetailsManager(scraper)));
+    }
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -60,6 +101,9 @@ public class SecurityConfig {
                 )
 
                 .authorizeHttpRequests(auth -> auth
+                        // the request was authorized on its REQUEST dispatch; the JWT filter does not run again
+                        // for the async dispatch that completes an SseEmitter, nor for error dispatches
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         // Allow H2 console and Swagger for development
                         .requestMatchers("/h2-console/**").permitAll()
                         .requestMatchers(
@@ -70,6 +114,7 @@ public class SecurityConfig {
                                 "/api-docs/**"
                         ).permitAll()
                         .requestMatchers("/actuator/health", "/actuator/info").permitAll()
+                        .requestMatchers("/actuator/slowqueries").hasRole("ADMIN")
                         .requestMatchers("/error").permitAll()
                         // ALL other endpoints require authentication
                         .anyRequest().authenticated()
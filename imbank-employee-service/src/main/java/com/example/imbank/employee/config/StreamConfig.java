@@ -0,0 +1,21 @@
+package com.example.imbank.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "imbank.stream")
+public class StreamConfig {
+    // events queued per subscriber before it is considered too slow and disconnected
+    private int bufferSize = 256;
+    // max events replayed from the outbox on reconnect with Last-Event-ID
+    private int replayLimit = 1000;
+    private long timeoutMinutes = 30;
+    private long heartbeatSeconds = 20;
+    // how often each instance reads new outbox rows for its own subscribers
+    private long pollIntervalMs = 500;
+    // how long a skipped id is re-checked; an insert that commits later than a higher id fills it
+    private long gapTimeoutSeconds = 30;
+}
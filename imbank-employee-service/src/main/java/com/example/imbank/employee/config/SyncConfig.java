@@ -0,0 +1,17 @@
+package com.example.imbank.employee.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "imbank.sync")
+public class SyncConfig {
+    private int defaultLimit = 500;
+    private int maxLimit = 2000;
+    // rows newer than this are left for the next sync, so transactions still in flight are not skipped
+    private long settleSeconds = 5;
+    // clients whose watermark is older than this must do a full reload
+    private int tombstoneRetentionDays = 30;
+}
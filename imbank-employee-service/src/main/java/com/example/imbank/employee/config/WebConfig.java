@@ -0,0 +1,34 @@
+package com.example.imbank.employee.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
+
+import java.time.Duration;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    @Value("${imbank.http-cache.max-age-seconds:30}")
+    private long maxAgeSeconds;
+
+    // Directory reads may be kept briefly per caller (browser, gateway response cache).
+    // Everything else keeps Spring Security's no-store default.
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        WebContentInterceptor interceptor = new WebContentInterceptor();
+        interceptor.addCacheMapping(CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePrivate(),
+                "/api/employees",
+                "/api/employees/{id:\\d+}",
+                "/api/employees/paginated",
+                "/api/employees/search",
+                "/api/employees/department/*",
+                "/api/employees/by-department-name",
+                "/api/employees/salary-range",
+                "/api/employees/above-average-salary");
+        registry.addInterceptor(interceptor);
+    }
+}
@@ -3,20 +3,31 @@ package com.example.imbank.employee.controller;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import com.example.imbank.employee.dto.EmployeeChangesResponseDto;
+import com.example.imbank.employee.dto.EmployeePatchRequestDto;
 import com.example.imbank.employee.dto.EmployeeRequestDto;
 import com.example.imbank.employee.dto.EmployeeResponseDto;
 import com.example.imbank.employee.dto.PageResponseDto;
+import com.example.imbank.employee.dto.SalaryAdjustmentRequestDto;
+import com.example.imbank.employee.dto.SalaryAdjustmentResultDto;
+import com.example.imbank.employee.service.EmployeeChangeStream;
 import com.example.imbank.employee.service.EmployeeService;
+import com.example.imbank.employee.service.SalaryAdjustmentService;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.math.BigDecimal;
@@ -27,6 +38,8 @@ import java.math.BigDecimal;
 @RequiredArgsConstructor
 public class EmployeeController {
     private final EmployeeService employeeService;
+    private final SalaryAdjustmentService salaryAdjustmentService;
+    private final EmployeeChangeStream employeeChangeStream;
 
     @PreAuthorize("hasAnyRole('ADMIN')")
     @PostMapping
@@ -55,12 +68,36 @@ public class EmployeeController {
         return employeeService.updateEmployee(id, dto);
     }
 
+    // Applies only the supplied fields in one UPDATE; responds with the new version as ETag
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @PatchMapping("/{id}")
+    public ResponseEntity<Void> patchEmployee(@PathVariable Long id, @Valid @RequestBody EmployeePatchRequestDto dto) {
+        long version = employeeService.patchEmployee(id, dto);
+        return ResponseEntity.noContent()
+                .eTag(String.valueOf(version))
+                .build();
+    }
+
     @PreAuthorize("hasAnyRole('ADMIN')")
     @DeleteMapping("/{id}")
     public void deleteEmployee(@PathVariable Long id) {
         employeeService.deleteEmployee(id);
     }
 
+    // Percentage or absolute raise for a department/salary band, applied in chunked UPDATEs
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping("/salary-adjustments")
+    public SalaryAdjustmentResultDto adjustSalaries(@Valid @RequestBody SalaryAdjustmentRequestDto dto) {
+        return salaryAdjustmentService.adjustSalaries(dto);
+    }
+
+    // Continues a FAILED run after its last committed window; windows already applied are not repeated
+    @PreAuthorize("hasAnyRole('ADMIN')")
+    @PostMapping("/salary-adjustments/{runId}/resume")
+    public SalaryAdjustmentResultDto resumeSalaryAdjustment(@PathVariable Long runId) {
+        return salaryAdjustmentService.resumeRun(runId);
+    }
+
     @GetMapping("/salary-range")
     public List<EmployeeResponseDto> getEmployeesBySalaryRange(
             @RequestParam BigDecimal min,
@@ -92,4 +129,22 @@ public class EmployeeController {
         return employeeService.getEmployeesPaginated(page, size, sortBy, sortDir);
     }
 
+    // Delta sync: rows changed and ids deleted since the watermark returned by the previous call
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
+    @GetMapping("/changes")
+    public EmployeeChangesResponseDto getEmployeeChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit) {
+        return employeeService.getChanges(since, limit);
+    }
+
+    // Live create/update/delete feed; reconnecting clients resume via Last-Event-ID (or ?lastEventId=)
+    @PreAuthorize("hasAnyRole('USER', 'ADMIN', 'MANAGER')")
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEmployeeChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventIdHeader,
+            @RequestParam(required = false) Long lastEventId) {
+        return employeeChangeStream.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+    }
+
 }
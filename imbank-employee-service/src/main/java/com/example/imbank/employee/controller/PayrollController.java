@@ -0,0 +1,42 @@
+package com.example.imbank.employee.controller;
+
+import com.example.imbank.employee.dto.PayrollRunRequestDto;
+import com.example.imbank.employee.dto.PayrollRunResponseDto;
+import com.example.imbank.employee.service.PayrollService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+// Lives under /api/employees so the existing gateway route reaches it
+@Tag(name = "Payroll", description = "Partitioned, restartable payroll runs")
+@RestController
+@RequestMapping("/api/employees/payroll/runs")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('ADMIN')")
+public class PayrollController {
+    private final PayrollService payrollService;
+
+    @PostMapping
+    public ResponseEntity<PayrollRunResponseDto> startRun(@Valid @RequestBody PayrollRunRequestDto dto) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payrollService.startRun(dto));
+    }
+
+    @GetMapping("/{id}")
+    public PayrollRunResponseDto getRun(@PathVariable Long id) {
+        return payrollService.getRun(id);
+    }
+
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<PayrollRunResponseDto> resumeRun(@PathVariable Long id) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(payrollService.resumeRun(id));
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.imbank.employee.dto;
+
+import com.example.imbank.employee.entity.ChangeEventType;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Published outbox event, both to in-process listeners and to HTTP subscribers
+@Data
+@AllArgsConstructor
+public class ChangeEventDto {
+    private Long id;
+    private String aggregateType;
+    private Long aggregateId;
+    private ChangeEventType eventType;
+
+    // already JSON, written as-is
+    @JsonRawValue
+    private String payload;
+
+    private LocalDateTime createdAt;
+}
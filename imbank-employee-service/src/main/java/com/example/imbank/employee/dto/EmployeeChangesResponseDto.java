@@ -0,0 +1,18 @@
+package com.example.imbank.employee.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class EmployeeChangesResponseDto {
+    private List<EmployeeResponseDto> upserted;
+    private List<Long> deleted;
+    // opaque, pass back as ?since= on the next call
+    private String watermark;
+    private boolean hasMore;
+    // watermark is older than the tombstone retention, drop local data and sync from scratch
+    private boolean resyncRequired;
+}
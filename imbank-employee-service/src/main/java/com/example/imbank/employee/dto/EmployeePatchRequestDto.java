@@ -0,0 +1,29 @@
+package com.example.imbank.employee.dto;
+
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+// Partial update - null fields are left untouched
+@Data
+public class EmployeePatchRequestDto {
+    @Size(max = 100, message = "Full name cannot exceed 100 characters")
+    private String fullName;
+
+    @Email(message = "Invalid Email format")
+    private String email;
+
+    private BigDecimal salary;
+
+    private Long departmentId;
+
+    @NotNull(message = "Version is required")
+    private Long version;
+
+    public boolean isEmpty() {
+        return fullName == null && email == null && salary == null && departmentId == null;
+    }
+}
@@ -10,4 +10,5 @@ public class EmployeeResponseDto {
     private String fullName;
     private String email;
     private String departmentName;
+    private Long version;
 }
@@ -0,0 +1,20 @@
+package com.example.imbank.employee.dto;
+
+import com.example.imbank.employee.entity.PayrollStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class PayrollPartitionResponseDto {
+    private Long id;
+    private long startId;
+    private long endId;
+    private PayrollStatus status;
+    private int processedCount;
+    private Long lastProcessedId;
+    private int attempts;
+    private long elapsedMs;
+    private long rowsPerSecond;
+    private String error;
+}
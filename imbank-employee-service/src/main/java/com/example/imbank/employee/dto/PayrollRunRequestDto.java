@@ -0,0 +1,12 @@
+package com.example.imbank.employee.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class PayrollRunRequestDto {
+    @NotBlank(message = "Period is required")
+    @Pattern(regexp = "\\d{4}-(0[1-9]|1[0-2])", message = "Period must be in yyyy-MM format")
+    private String period;
+}
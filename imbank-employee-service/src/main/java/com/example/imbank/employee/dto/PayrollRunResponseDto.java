@@ -0,0 +1,23 @@
+package com.example.imbank.employee.dto;
+
+import com.example.imbank.employee.entity.PayrollStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Builder
+public class PayrollRunResponseDto {
+    private Long id;
+    private String period;
+    private PayrollStatus status;
+    private int totalPartitions;
+    private int completedPartitions;
+    private int failedPartitions;
+    private long processedEmployees;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private List<PayrollPartitionResponseDto> partitions;
+}
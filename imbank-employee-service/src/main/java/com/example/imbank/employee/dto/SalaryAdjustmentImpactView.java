@@ -0,0 +1,13 @@
+package com.example.imbank.employee.dto;
+
+import java.math.BigDecimal;
+
+// Projection for the aggregate impact query of a salary adjustment
+public interface SalaryAdjustmentImpactView {
+    Long getMinId();
+    Long getMaxId();
+    Long getMatched();
+    Long getClamped();
+    BigDecimal getCurrentTotal();
+    BigDecimal getProjectedTotal();
+}
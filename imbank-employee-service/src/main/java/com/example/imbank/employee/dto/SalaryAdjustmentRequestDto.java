@@ -0,0 +1,24 @@
+package com.example.imbank.employee.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+public class SalaryAdjustmentRequestDto {
+
+    @NotNull(message = "Adjustment type is required")
+    private SalaryAdjustmentType type;
+
+    // percentage points for PERCENTAGE (5 = +5%), currency amount for ABSOLUTE
+    @NotNull(message = "Amount is required")
+    private BigDecimal amount;
+
+    // optional filters - all null means every employee with a salary
+    private Long departmentId;
+    private BigDecimal minCurrentSalary;
+    private BigDecimal maxCurrentSalary;
+
+    private boolean dryRun;
+}
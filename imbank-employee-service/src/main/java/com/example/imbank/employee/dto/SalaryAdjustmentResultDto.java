@@ -0,0 +1,28 @@
+package com.example.imbank.employee.dto;
+
+import com.example.imbank.employee.entity.SalaryAdjustmentStatus;
+import lombok.Builder;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+public class SalaryAdjustmentResultDto {
+    private boolean dryRun;
+    // null for dry runs; a FAILED run is continued with POST /api/employees/salary-adjustments/{runId}/resume
+    private Long runId;
+    private SalaryAdjustmentStatus status;
+    // first employee id not yet adjusted; everything below it is committed
+    private Long nextId;
+    private String error;
+    private long matchedEmployees;
+    private long clampedEmployees;
+    private BigDecimal currentTotal;
+    private BigDecimal projectedTotal;
+    // totals over every attempt of the run
+    private long rowsAffected;
+    private int chunks;
+    private long elapsedMs;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,6 @@
+package com.example.imbank.employee.dto;
+
+public enum SalaryAdjustmentType {
+    PERCENTAGE,
+    ABSOLUTE
+}
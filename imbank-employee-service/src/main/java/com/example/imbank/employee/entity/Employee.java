@@ -9,6 +9,7 @@ import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Version;
 import jakarta.persistence.GenerationType;
 import lombok.AllArgsConstructor;
 
@@ -48,4 +49,9 @@ import java.math.BigDecimal;
         @OneToOne
         @JoinColumn(name = "user_id", nullable = true)
         private User user;
+
+        // optimistic lock, also lets PATCH guard its single UPDATE statement
+        @Version
+        @Column(nullable = false)
+        private Long version;
     }
@@ -0,0 +1,62 @@
+package com.example.imbank.employee.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// One employee id range of a payroll run; lastProcessedId is the resume checkpoint
+@Entity
+@Table(name = "payroll_partitions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PayrollPartition {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "start_id", nullable = false)
+    private long startId;
+
+    @Column(name = "end_id", nullable = false)
+    private long endId;
+
+    @Column(name = "last_processed_id")
+    private Long lastProcessedId;
+
+    @Column(name = "processed_count", nullable = false)
+    private int processedCount;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private PayrollStatus status;
+
+    @Column(nullable = false)
+    private int attempts;
+
+    @Column(name = "elapsed_ms", nullable = false)
+    private long elapsedMs;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,8 @@
+package com.example.imbank.employee.entity;
+
+public enum PayrollStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,80 @@
+package com.example.imbank.employee.entity;
+
+import com.example.imbank.employee.dto.SalaryAdjustmentType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// A salary adjustment applied window by window. nextId is the high-water mark: it moves in the same
+// transaction as the window it covers, so a resumed run continues exactly where the last commit ended.
+@Entity
+@Table(name = "salary_adjustment_runs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SalaryAdjustmentRun extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SalaryAdjustmentType type;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "department_id")
+    private Long departmentId;
+
+    @Column(name = "min_current_salary", precision = 19, scale = 2)
+    private BigDecimal minCurrentSalary;
+
+    @Column(name = "max_current_salary", precision = 19, scale = 2)
+    private BigDecimal maxCurrentSalary;
+
+    // bounds in force when the run started; a resume keeps them even if the configuration changed
+    @Column(name = "salary_floor", nullable = false, precision = 19, scale = 2)
+    private BigDecimal salaryFloor;
+
+    @Column(name = "salary_ceiling", nullable = false, precision = 19, scale = 2)
+    private BigDecimal salaryCeiling;
+
+    // rows inserted after the run started are not part of it
+    @Column(name = "max_id", nullable = false)
+    private long maxId;
+
+    @Column(name = "next_id", nullable = false)
+    private long nextId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private SalaryAdjustmentStatus status;
+
+    @Column(name = "rows_affected", nullable = false)
+    private long rowsAffected;
+
+    @Column(nullable = false)
+    private int chunks;
+
+    @Column(length = 500)
+    private String error;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+}
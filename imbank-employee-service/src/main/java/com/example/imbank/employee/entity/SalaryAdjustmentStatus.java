@@ -0,0 +1,7 @@
+package com.example.imbank.employee.entity;
+
+public enum SalaryAdjustmentStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -1,17 +1,33 @@
 package com.example.imbank.employee.repository;
 
+import com.example.imbank.employee.dto.SalaryAdjustmentImpactView;
 import com.example.imbank.employee.entity.Employee;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+    // Shared JPQL fragments for salary adjustments
+    String ADJUSTED = "(e.salary * :factor + :delta)";
+
+    String CLAMPED = "CASE WHEN " + ADJUSTED + " < :floor THEN :floor " +
+            "WHEN " + ADJUSTED + " > :ceiling THEN :ceiling ELSE " + ADJUSTED + " END";
+
+    // rows already outside [floor, ceiling] are left as they are rather than pulled to the bound
+    String ADJUSTMENT_FILTER = "e.salary IS NOT NULL AND e.salary BETWEEN :floor AND :ceiling " +
+            "AND (:departmentId IS NULL OR e.department.id = :departmentId) " +
+            "AND (:minSalary IS NULL OR e.salary >= :minSalary) " +
+            "AND (:maxSalary IS NULL OR e.salary <= :maxSalary)";
+
     List<Employee> findByDepartment_Id(Long departmentId);
 
 
@@ -31,4 +47,42 @@ public interface EmployeeRepository extends JpaRepository<Employee, Long> {
     // JPQL - Search by name
     @Query("SELECT e FROM Employee e WHERE LOWER(e.fullName) LIKE LOWER(CONCAT('%', :keyword, '%'))")
     List<Employee> searchByName(@Param("keyword") String keyword);
+
+    // JPQL - Keyset page of rows modified after (updatedAt, id), up to the settle horizon; served by idx_employees_updated_at
+    @Query("SELECT e FROM Employee e JOIN FETCH e.department LEFT JOIN FETCH e.user " +
+            "WHERE e.updatedAt >= :since AND (e.updatedAt > :since OR e.id > :afterId) " +
+            "AND e.updatedAt <= :horizon " +
+            "ORDER BY e.updatedAt, e.id")
+    List<Employee> findModifiedAfter(@Param("since") LocalDateTime since,
+                                     @Param("afterId") Long afterId,
+                                     @Param("horizon") LocalDateTime horizon,
+                                     Pageable pageable);
+
+    // JPQL - Impact of a salary adjustment (id bounds, totals, rows hitting the min/max clamp) in one pass
+    @Query("SELECT MIN(e.id) AS minId, MAX(e.id) AS maxId, COUNT(e) AS matched, " +
+            "SUM(CASE WHEN " + ADJUSTED + " < :floor OR " + ADJUSTED + " > :ceiling THEN 1 ELSE 0 END) AS clamped, " +
+            "SUM(e.salary) AS currentTotal, SUM(" + CLAMPED + ") AS projectedTotal " +
+            "FROM Employee e WHERE " + ADJUSTMENT_FILTER)
+    SalaryAdjustmentImpactView findSalaryAdjustmentImpact(@Param("factor") BigDecimal factor,
+                                                          @Param("delta") BigDecimal delta,
+                                                          @Param("floor") BigDecimal floor,
+                                                          @Param("ceiling") BigDecimal ceiling,
+                                                          @Param("departmentId") Long departmentId,
+                                                          @Param("minSalary") BigDecimal minSalary,
+                                                          @Param("maxSalary") BigDecimal maxSalary);
+
+    // JPQL - Set-based salary adjustment over one id window, clamped to [floor, ceiling]
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Employee e SET e.salary = " + CLAMPED + ", e.version = e.version + 1, e.updatedAt = :now " +
+            "WHERE e.id BETWEEN :fromId AND :toId AND " + ADJUSTMENT_FILTER)
+    int adjustSalaries(@Param("fromId") Long fromId,
+                       @Param("toId") Long toId,
+                       @Param("factor") BigDecimal factor,
+                       @Param("delta") BigDecimal delta,
+                       @Param("floor") BigDecimal floor,
+                       @Param("ceiling") BigDecimal ceiling,
+                       @Param("departmentId") Long departmentId,
+                       @Param("minSalary") BigDecimal minSalary,
+                       @Param("maxSalary") BigDecimal maxSalary,
+                       @Param("now") LocalDateTime now);
 }
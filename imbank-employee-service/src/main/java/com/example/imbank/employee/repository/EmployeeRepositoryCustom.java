@@ -0,0 +1,10 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.dto.EmployeePatchRequestDto;
+
+public interface EmployeeRepositoryCustom {
+
+    // Single UPDATE of the non-null fields, guarded by the version column.
+    // Returns the number of rows changed (0 = missing row or stale version)
+    int patchById(Long id, EmployeePatchRequestDto patch);
+}
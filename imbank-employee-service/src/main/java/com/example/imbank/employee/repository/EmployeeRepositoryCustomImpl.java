@@ -0,0 +1,51 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.dto.EmployeePatchRequestDto;
+import com.example.imbank.employee.entity.Department;
+import com.example.imbank.employee.entity.Employee;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patchById(Long id, EmployeePatchRequestDto patch) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Employee> update = cb.createCriteriaUpdate(Employee.class);
+        Root<Employee> employee = update.from(Employee.class);
+
+        if (patch.getFullName() != null) {
+            update.set(employee.<String>get("fullName"), patch.getFullName());
+        }
+        if (patch.getEmail() != null) {
+            update.set(employee.<String>get("email"), patch.getEmail());
+        }
+        if (patch.getSalary() != null) {
+            update.set(employee.<BigDecimal>get("salary"), patch.getSalary());
+        }
+        if (patch.getDepartmentId() != null) {
+            // reference only - the FK constraint checks the department exists, no SELECT needed
+            update.set(employee.<Department>get("department"),
+                    entityManager.getReference(Department.class, patch.getDepartmentId()));
+        }
+
+        // bulk updates bypass the entity lifecycle, so version and audit columns are set here
+        update.set(employee.<Long>get("version"), cb.sum(employee.<Long>get("version"), 1L));
+        update.set(employee.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+
+        update.where(
+                cb.equal(employee.get("id"), id),
+                cb.equal(employee.get("version"), patch.getVersion()));
+
+        return entityManager.createQuery(update).executeUpdate();
+    }
+}
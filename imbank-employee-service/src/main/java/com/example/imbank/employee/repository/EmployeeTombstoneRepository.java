@@ -0,0 +1,38 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.entity.EmployeeTombstone;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface EmployeeTombstoneRepository extends JpaRepository<EmployeeTombstone, Long> {
+
+    // Native - a plain INSERT instead of save(), whose merge selects the assigned id first; a repeated
+    // delete of the same id only moves deleted_at
+    @Modifying
+    @Query(value = "INSERT INTO employee_tombstones (employee_id, deleted_at) VALUES (:employeeId, :deletedAt) " +
+            "ON DUPLICATE KEY UPDATE deleted_at = VALUES(deleted_at)",
+            nativeQuery = true)
+    int record(@Param("employeeId") Long employeeId, @Param("deletedAt") LocalDateTime deletedAt);
+
+    // JPQL - Keyset page of deletes after (deletedAt, employeeId), up to the settle horizon
+    @Query("SELECT t FROM EmployeeTombstone t " +
+            "WHERE t.deletedAt >= :since AND (t.deletedAt > :since OR t.employeeId > :afterId) " +
+            "AND t.deletedAt <= :horizon " +
+            "ORDER BY t.deletedAt, t.employeeId")
+    List<EmployeeTombstone> findDeletedAfter(@Param("since") LocalDateTime since,
+                                             @Param("afterId") Long afterId,
+                                             @Param("horizon") LocalDateTime horizon,
+                                             Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM EmployeeTombstone t WHERE t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -0,0 +1,47 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.entity.OutboxEvent;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // JPQL - Oldest unpublished events, FOR UPDATE SKIP LOCKED (-2) so relays on other instances take other rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OutboxEvent o WHERE o.publishedAt IS NULL AND o.aggregateType IN :aggregateTypes ORDER BY o.id")
+    List<OutboxEvent> findUnpublishedForUpdate(@Param("aggregateTypes") Collection<String> aggregateTypes,
+                                               Pageable pageable);
+
+    // Replay for stream subscribers resuming after a given event id
+    List<OutboxEvent> findByAggregateTypeAndIdGreaterThanOrderById(String aggregateType, Long id, Pageable pageable);
+
+    // Stream tailing - every committed event after the cursor, any aggregate type, so id gaps are real gaps
+    List<OutboxEvent> findByIdGreaterThanOrderById(Long id, Pageable pageable);
+
+    List<OutboxEvent> findByIdIn(Collection<Long> ids);
+
+    @Query("SELECT COALESCE(MAX(o.id), 0) FROM OutboxEvent o")
+    long findMaxId();
+
+    @Modifying
+    @Query("UPDATE OutboxEvent o SET o.publishedAt = :now WHERE o.id IN :ids")
+    int markPublished(@Param("ids") Collection<Long> ids, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent o WHERE o.publishedAt < :cutoff")
+    int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
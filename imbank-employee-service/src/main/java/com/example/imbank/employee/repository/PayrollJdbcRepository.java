@@ -0,0 +1,57 @@
+package com.example.imbank.employee.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Plain JDBC for the payroll hot path: narrow reads and batched inserts, no entity state
+@Repository
+@RequiredArgsConstructor
+public class PayrollJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public record SalaryRow(long employeeId, BigDecimal salary) {
+    }
+
+    public record PayrollLine(long employeeId, BigDecimal gross, BigDecimal tax, BigDecimal net) {
+    }
+
+    public record IdRange(Long minId, Long maxId) {
+    }
+
+    public IdRange findEmployeeIdRange() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id), MAX(id) FROM employees",
+                (rs, rowNum) -> new IdRange(rs.getObject(1, Long.class), rs.getObject(2, Long.class)));
+    }
+
+    // keyset page: ids in (afterId, endId], in id order
+    public List<SalaryRow> findSalaryPage(long afterId, long endId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, salary FROM employees WHERE id > ? AND id <= ? AND salary IS NOT NULL ORDER BY id LIMIT ?",
+                (rs, rowNum) -> new SalaryRow(rs.getLong("id"), rs.getBigDecimal("salary")),
+                afterId, endId, limit);
+    }
+
+    public void insertLines(long runId, List<PayrollLine> lines, LocalDateTime createdAt) {
+        Timestamp timestamp = Timestamp.valueOf(createdAt);
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO payroll_lines (run_id, employee_id, gross_amount, tax_amount, net_amount, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?)",
+                lines,
+                lines.size(),
+                (ps, line) -> {
+                    ps.setLong(1, runId);
+                    ps.setLong(2, line.employeeId());
+                    ps.setBigDecimal(3, line.gross());
+                    ps.setBigDecimal(4, line.tax());
+                    ps.setBigDecimal(5, line.net());
+                    ps.setTimestamp(6, timestamp);
+                });
+    }
+}
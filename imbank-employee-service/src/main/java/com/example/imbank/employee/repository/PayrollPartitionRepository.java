@@ -0,0 +1,44 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.entity.PayrollPartition;
+import com.example.imbank.employee.entity.PayrollStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PayrollPartitionRepository extends JpaRepository<PayrollPartition, Long> {
+
+    List<PayrollPartition> findByRunIdOrderByStartId(Long runId);
+
+    List<PayrollPartition> findByRunIdAndStatusNotOrderByStartId(Long runId, PayrollStatus status);
+
+    // JPQL - Start (or restart) a partition, keeping the first start time across attempts
+    @Modifying
+    @Query("UPDATE PayrollPartition p SET p.status = com.example.imbank.employee.entity.PayrollStatus.RUNNING, " +
+            "p.attempts = p.attempts + 1, p.error = NULL, p.startedAt = COALESCE(p.startedAt, :now) WHERE p.id = :id")
+    int markRunning(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // JPQL - Checkpoint; runs in the same transaction as the payroll lines it covers
+    @Modifying
+    @Query("UPDATE PayrollPartition p SET p.lastProcessedId = :lastProcessedId, " +
+            "p.processedCount = p.processedCount + :processed WHERE p.id = :id")
+    int checkpoint(@Param("id") Long id,
+                   @Param("lastProcessedId") Long lastProcessedId,
+                   @Param("processed") int processed);
+
+    // JPQL - Close an attempt with its outcome and wall-clock time
+    @Modifying
+    @Query("UPDATE PayrollPartition p SET p.status = :status, p.error = :error, " +
+            "p.elapsedMs = p.elapsedMs + :elapsedMs, p.finishedAt = :now WHERE p.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") PayrollStatus status,
+               @Param("error") String error,
+               @Param("elapsedMs") long elapsedMs,
+               @Param("now") LocalDateTime now);
+}
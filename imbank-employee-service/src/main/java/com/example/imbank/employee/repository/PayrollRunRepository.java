@@ -0,0 +1,13 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.entity.PayrollRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PayrollRunRepository extends JpaRepository<PayrollRun, Long> {
+
+    Optional<PayrollRun> findFirstByPeriodOrderByIdDesc(String period);
+}
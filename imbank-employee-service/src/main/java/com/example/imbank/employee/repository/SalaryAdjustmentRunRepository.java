@@ -0,0 +1,42 @@
+package com.example.imbank.employee.repository;
+
+import com.example.imbank.employee.entity.SalaryAdjustmentRun;
+import com.example.imbank.employee.entity.SalaryAdjustmentStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface SalaryAdjustmentRunRepository extends JpaRepository<SalaryAdjustmentRun, Long> {
+
+    // JPQL - (Re)start a run that has not completed
+    @Modifying
+    @Query("UPDATE SalaryAdjustmentRun r " +
+            "SET r.status = com.example.imbank.employee.entity.SalaryAdjustmentStatus.RUNNING, " +
+            "r.error = NULL, r.finishedAt = NULL WHERE r.id = :id " +
+            "AND r.status <> com.example.imbank.employee.entity.SalaryAdjustmentStatus.COMPLETED")
+    int markRunning(@Param("id") Long id);
+
+    // JPQL - Checkpoint; runs in the same transaction as the window it covers. Matching on the old mark
+    // means two requests resuming the same run cannot both apply a window: the second updates nothing
+    @Modifying
+    @Query("UPDATE SalaryAdjustmentRun r SET r.nextId = :nextId, r.rowsAffected = r.rowsAffected + :rows, " +
+            "r.chunks = r.chunks + 1 WHERE r.id = :id AND r.nextId = :fromId")
+    int checkpoint(@Param("id") Long id,
+                   @Param("fromId") long fromId,
+                   @Param("nextId") long nextId,
+                   @Param("rows") int rows);
+
+    // JPQL - Close an attempt with its outcome
+    @Modifying
+    @Query("UPDATE SalaryAdjustmentRun r SET r.status = :status, r.error = :error, r.finishedAt = :now " +
+            "WHERE r.id = :id")
+    int finish(@Param("id") Long id,
+               @Param("status") SalaryAdjustmentStatus status,
+               @Param("error") String error,
+               @Param("now") LocalDateTime now);
+}
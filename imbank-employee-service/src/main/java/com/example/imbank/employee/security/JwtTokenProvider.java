@@ -7,6 +7,9 @@ import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -16,7 +19,10 @@ import java.nio.charset.StandardCharsets;
 
 @Slf4j
 @Component
+@RequiredArgsConstructor
 public class JwtTokenProvider {
+    private final ObservationRegistry observationRegistry;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -39,22 +45,29 @@ public class JwtTokenProvider {
     }
 
     public boolean validateToken(String token) {
-        try {
+        // shows up as its own span; the outcome tag also counts failures by kind
+        Observation observation = Observation.start("jwt.verify", observationRegistry);
+        String outcome = "invalid";
+        try (Observation.Scope scope = observation.openScope()) {
             Jwts.parser()
                     .verifyWith(getSigningKey())
                     .build()
                     .parseSignedClaims(token);
+            outcome = "valid";
             return true;
         } catch (ExpiredJwtException e) {
+            outcome = "expired";
             log.error("JWT token is expired: {}", e.getMessage());
             return false;
         } catch (UnsupportedJwtException e) {
             log.error("JWT token is unsupported: {}", e.getMessage());
             return false;
         } catch (MalformedJwtException e) {
+            outcome = "malformed";
             log.error("Invalid JWT token format: {}", e.getMessage());
             return false;
         } catch (SignatureException e) {
+            outcome = "bad_signature";
             log.error("Invalid JWT signature: {}", e.getMessage());
             return false;
         } catch (IllegalArgumentException e) {
@@ -63,6 +76,8 @@ public class JwtTokenProvider {
         } catch (Exception e) {
             log.error("JWT validation error: {}", e.getMessage());
             return false;
+        } finally {
+            observation.lowCardinalityKeyValue("outcome", outcome).stop();
         }
     }
 
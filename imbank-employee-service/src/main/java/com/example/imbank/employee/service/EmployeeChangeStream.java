@@ -0,0 +1,228 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.config.StreamConfig;
+import com.example.imbank.employee.dto.ChangeEventDto;
+import com.example.imbank.employee.entity.OutboxEvent;
+import com.example.imbank.employee.repository.OutboxEventRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fans employee change events out to SSE subscribers. Every instance tails outbox_events by id with its
+// own cursor, independent of the relay's row locks, so subscribers see events relayed by any replica.
+// Idle subscribers cost an async request and a small queue, no thread. Each subscriber has a bounded
+// buffer drained on a virtual thread; when a slow client overflows it, the connection is closed and the
+// client resumes from its Last-Event-ID, replayed from the outbox table.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EmployeeChangeStream {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final StreamConfig streamConfig;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+    private final AtomicLong subscriberIds = new AtomicLong();
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    // last outbox id read by poll(); only touched from the scheduler thread
+    private long cursor = -1;
+    // ids skipped by the cursor whose insert may still commit -> re-check deadline
+    private final Map<Long, Long> gaps = new ConcurrentHashMap<>();
+
+    public SseEmitter subscribe(Long lastEventId) {
+        SseEmitter emitter = new SseEmitter(Duration.ofMinutes(streamConfig.getTimeoutMinutes()).toMillis());
+        Subscriber subscriber = new Subscriber(subscriberIds.incrementAndGet(), emitter, streamConfig.getBufferSize());
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber.id));
+        emitter.onTimeout(() -> subscribers.remove(subscriber.id));
+        emitter.onError(ex -> subscribers.remove(subscriber.id));
+
+        // register before replaying so nothing committed in between is missed; live events queue up meanwhile
+        subscribers.put(subscriber.id, subscriber);
+        if (lastEventId != null) {
+            replay(subscriber, lastEventId);
+        }
+        subscriber.replaying = false;
+        drain(subscriber);
+
+        log.debug("Stream subscriber {} connected (last event id: {}, active: {})",
+                subscriber.id, lastEventId, subscribers.size());
+        return emitter;
+    }
+
+    @Scheduled(fixedDelayString = "${imbank.stream.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            if (cursor < 0) {
+                // start at the head; history is only sent on request, through Last-Event-ID replay
+                cursor = outboxEventRepository.findMaxId();
+                return;
+            }
+            if (!gaps.isEmpty()) {
+                recheckGaps();
+            }
+            List<OutboxEvent> events;
+            do {
+                events = outboxEventRepository.findByIdGreaterThanOrderById(
+                        cursor, PageRequest.of(0, streamConfig.getReplayLimit()));
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(streamConfig.getGapTimeoutSeconds());
+                for (OutboxEvent event : events) {
+                    // a jump wider than a page is not an in-flight insert (restored backup, reseeded sequence)
+                    if (event.getId() - cursor <= streamConfig.getReplayLimit()) {
+                        for (long missing = cursor + 1; missing < event.getId(); missing++) {
+                            gaps.put(missing, deadline);
+                        }
+                    }
+                    cursor = event.getId();
+                    publish(event);
+                }
+            } while (events.size() == streamConfig.getReplayLimit());
+        } catch (RuntimeException ex) {
+            log.warn("Reading outbox events for stream subscribers failed, retrying from id {}: {}",
+                    cursor, ex.getMessage());
+        }
+    }
+
+    private void recheckGaps() {
+        long now = System.nanoTime();
+        gaps.values().removeIf(deadline -> deadline - now < 0);
+        for (OutboxEvent event : outboxEventRepository.findByIdIn(List.copyOf(gaps.keySet()))) {
+            gaps.remove(event.getId());
+            publish(event);
+        }
+    }
+
+    private void publish(OutboxEvent outboxEvent) {
+        if (!OutboxEvent.EMPLOYEE.equals(outboxEvent.getAggregateType())) {
+            return;
+        }
+        ChangeEventDto event = toDto(outboxEvent);
+        for (Subscriber subscriber : subscribers.values()) {
+            if (subscriber.queue.offer(event)) {
+                drain(subscriber);
+            } else {
+                log.warn("Stream subscriber {} is too slow, closing it so it resumes from its last event",
+                        subscriber.id);
+                close(subscriber);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${imbank.stream.heartbeat-seconds:20}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        // keeps proxies from dropping idle connections and detects dead clients
+        for (Subscriber subscriber : subscribers.values()) {
+            try {
+                subscriber.emitter.send(SseEmitter.event().comment("keepalive"));
+            } catch (IOException | IllegalStateException ex) {
+                close(subscriber);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        subscribers.values().forEach(this::close);
+        senders.shutdownNow();
+    }
+
+    private void replay(Subscriber subscriber, long lastEventId) {
+        List<OutboxEvent> missed = outboxEventRepository.findByAggregateTypeAndIdGreaterThanOrderById(
+                OutboxEvent.EMPLOYEE, lastEventId, PageRequest.of(0, streamConfig.getReplayLimit()));
+        try {
+            for (OutboxEvent event : missed) {
+                send(subscriber, toDto(event));
+                subscriber.replayedIds.add(event.getId());
+            }
+            if (missed.size() == streamConfig.getReplayLimit()) {
+                // too far behind to catch up by replay, tell the client to reload instead
+                subscriber.emitter.send(SseEmitter.event().name("RESYNC").data("too many missed events"));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close(subscriber);
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        if (subscriber.replaying || !subscriber.draining.compareAndSet(false, true)) {
+            return;
+        }
+        senders.submit(() -> {
+            try {
+                ChangeEventDto event;
+                while ((event = subscriber.queue.poll()) != null) {
+                    // the relay is at-least-once and replay may overlap live delivery
+                    if (!subscriber.replayedIds.remove(event.getId())) {
+                        send(subscriber, event);
+                    }
+                }
+            } catch (IOException | IllegalStateException ex) {
+                close(subscriber);
+            } finally {
+                subscriber.draining.set(false);
+            }
+            // an event may have been queued after the last poll but before the flag was cleared
+            if (!subscriber.queue.isEmpty()) {
+                drain(subscriber);
+            }
+        });
+    }
+
+    private void send(Subscriber subscriber, ChangeEventDto event) throws IOException {
+        subscriber.emitter.send(SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .name(event.getEventType().name())
+                .data(event));
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber.id) != null) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private ChangeEventDto toDto(OutboxEvent event) {
+        return new ChangeEventDto(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt());
+    }
+
+    private static final class Subscriber {
+        private final long id;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEventDto> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final Set<Long> replayedIds = ConcurrentHashMap.newKeySet();
+        private volatile boolean replaying = true;
+
+        private Subscriber(long id, SseEmitter emitter, int bufferSize) {
+            this.id = id;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
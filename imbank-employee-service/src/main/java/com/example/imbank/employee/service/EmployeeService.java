@@ -1,6 +1,8 @@
 package com.example.imbank.employee.service;
 
 
+import com.example.imbank.employee.dto.EmployeeChangesResponseDto;
+import com.example.imbank.employee.dto.EmployeePatchRequestDto;
 import com.example.imbank.employee.dto.EmployeeRequestDto;
 import com.example.imbank.employee.dto.EmployeeResponseDto;
 import com.example.imbank.employee.dto.PageResponseDto;
@@ -14,6 +16,7 @@ public interface EmployeeService {
     EmployeeResponseDto getEmployeeById(Long id);
     List<EmployeeResponseDto> getEmployeesByDepartment(Long departmentId);
     EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto employeeRequestDto);
+    long patchEmployee(Long id, EmployeePatchRequestDto patchRequestDto);
     void deleteEmployee(Long employeeId);
 
 
@@ -24,4 +27,7 @@ public interface EmployeeService {
 
     // Pagination & Sorting
     PageResponseDto<EmployeeResponseDto> getEmployeesPaginated(int page, int size, String sortBy, String sortDir);
+
+    // Delta sync
+    EmployeeChangesResponseDto getChanges(String since, Integer limit);
 }
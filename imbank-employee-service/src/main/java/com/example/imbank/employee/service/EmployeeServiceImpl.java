@@ -1,16 +1,26 @@
 package com.example.imbank.employee.service;
 import com.example.imbank.employee.config.EmployeeConfig;
+import com.example.imbank.employee.config.SyncConfig;
+import com.example.imbank.employee.dto.EmployeeChangesResponseDto;
+import com.example.imbank.employee.dto.EmployeePatchRequestDto;
 import com.example.imbank.employee.dto.EmployeeRequestDto;
 import com.example.imbank.employee.dto.EmployeeResponseDto;
 import com.example.imbank.employee.dto.PageResponseDto;
+import com.example.imbank.employee.entity.ChangeEventType;
 import com.example.imbank.employee.entity.Department;
 import com.example.imbank.employee.entity.Employee;
+import com.example.imbank.employee.entity.EmployeeTombstone;
+import com.example.imbank.employee.entity.OutboxEvent;
 import com.example.imbank.employee.repository.DepartmentRepository;
 import com.example.imbank.employee.repository.EmployeeRepository;
+import com.example.imbank.employee.repository.EmployeeTombstoneRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import com.example.imbank.employee.exception.ResourceNotFoundException;
@@ -19,7 +29,10 @@ import lombok.extern.slf4j.Slf4j;
 
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Slf4j
 @Service
@@ -29,8 +42,12 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeConfig employeeConfig;
+    private final EmployeeTombstoneRepository employeeTombstoneRepository;
+    private final SyncConfig syncConfig;
+    private final OutboxWriter outboxWriter;
 
     @Override
+    @Transactional
     public EmployeeResponseDto createEmployee(EmployeeRequestDto dto) {
       //  log.info("Creating employee with email: {}", dto.getEmail());
 
@@ -43,14 +60,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         BigDecimal salary = dto.getSalary() != null ? dto.getSalary() : employeeConfig.getDefaultSalary();
         log.debug("Using salary: {} (default: {})", salary, dto.getSalary() == null);
 
-        if (salary.compareTo(employeeConfig.getMinSalary()) < 0) {
-            log.warn("Salary {} is below minimum {}", salary, employeeConfig.getMinSalary());
-            throw new BadRequestException("Salary cannot be less than " + employeeConfig.getMinSalary());
-        }
-        if (salary.compareTo(employeeConfig.getMaxSalary()) > 0) {
-            log.warn("Salary {} exceeds maximum {}", salary, employeeConfig.getMaxSalary());
-            throw new BadRequestException("Salary cannot exceed " + employeeConfig.getMaxSalary());
-        }
+        validateSalary(salary);
 
         Employee employee = new Employee();
         employee.setFullName(dto.getFullName());
@@ -61,7 +71,9 @@ public class EmployeeServiceImpl implements EmployeeService {
         Employee saved = employeeRepository.save(employee);
         log.info("Employee created successfully with id: {}", saved.getId());
 
-        return toResponseDto(saved);
+        EmployeeResponseDto response = toResponseDto(saved);
+        outboxWriter.append(OutboxEvent.EMPLOYEE, saved.getId(), ChangeEventType.CREATED, response);
+        return response;
     }
 
     @Override
@@ -75,7 +87,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                         employee.getId(),
                         employee.getFullName(),
                         employee.getEmail(),
-                        employee.getDepartment().getName()
+                        employee.getDepartment().getName(),
+                        employee.getVersion()
                 ))
                 .toList();
     }
@@ -88,7 +101,8 @@ public class EmployeeServiceImpl implements EmployeeService {
                         employee.getId(),
                         employee.getFullName(),
                         employee.getEmail(),
-                        employee.getDepartment().getName()
+                        employee.getDepartment().getName(),
+                        employee.getVersion()
                 ))
                 .toList();
     }
@@ -107,6 +121,7 @@ public class EmployeeServiceImpl implements EmployeeService {
     }
 
     @Override
+    @Transactional
     public EmployeeResponseDto updateEmployee(Long id, EmployeeRequestDto dto) {
         log.info("Updating employee with id: {}", id);
 
@@ -127,13 +142,48 @@ public class EmployeeServiceImpl implements EmployeeService {
         employee.setSalary(dto.getSalary());
         employee.setDepartment(department);
 
-        Employee updated = employeeRepository.save(employee);
+        // flush so the response and the change event carry the incremented version
+        Employee updated = employeeRepository.saveAndFlush(employee);
         log.info("Employee updated successfully with id: {}", updated.getId());
 
-        return toResponseDto(updated);
+        EmployeeResponseDto response = toResponseDto(updated);
+        outboxWriter.append(OutboxEvent.EMPLOYEE, updated.getId(), ChangeEventType.UPDATED, response);
+        return response;
     }
 
     @Override
+    @Transactional
+    public long patchEmployee(Long id, EmployeePatchRequestDto dto) {
+        log.info("Patching employee with id: {} at version: {}", id, dto.getVersion());
+
+        if (dto.isEmpty()) {
+            throw new BadRequestException("At least one field must be supplied");
+        }
+        if (dto.getSalary() != null) {
+            validateSalary(dto.getSalary());
+        }
+
+        int updated = employeeRepository.patchById(id, dto);
+        if (updated == 0) {
+            // only hit the table again to tell the two failure cases apart
+            if (!employeeRepository.existsById(id)) {
+                log.error("Employee Not found with id: {}", id);
+                throw new ResourceNotFoundException("Employee", "id", id);
+            }
+            log.warn("Stale version {} for employee with id: {}", dto.getVersion(), id);
+            throw new OptimisticLockingFailureException(
+                    "Employee with id '" + id + "' was modified by another request, reload and retry");
+        }
+
+        long newVersion = dto.getVersion() + 1;
+        outboxWriter.append(OutboxEvent.EMPLOYEE, id, ChangeEventType.UPDATED, patchPayload(id, newVersion, dto));
+
+        log.info("Employee patched successfully with id: {}", id);
+        return newVersion;
+    }
+
+    @Override
+    @Transactional
     public void deleteEmployee(Long id) {
         log.info("Deleting employee with id: {}", id);
 
@@ -143,6 +193,8 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
 
         employeeRepository.deleteById(id);
+        employeeTombstoneRepository.record(id, LocalDateTime.now());
+        outboxWriter.append(OutboxEvent.EMPLOYEE, id, ChangeEventType.DELETED, Map.of("id", id));
         log.info("Employee deleted successfully with id: {}", id);
     }
 
@@ -203,12 +255,109 @@ public class EmployeeServiceImpl implements EmployeeService {
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public EmployeeChangesResponseDto getChanges(String since, Integer limit) {
+        int pageSize = Math.min(limit != null ? limit : syncConfig.getDefaultLimit(), syncConfig.getMaxLimit());
+        if (pageSize < 1) {
+            throw new BadRequestException("limit must be positive");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime horizon = now.minusSeconds(syncConfig.getSettleSeconds());
+        SyncWatermark mark = since != null ? SyncWatermark.decode(since) : SyncWatermark.initial(horizon);
+
+        if (since != null && mark.deletedAt().isBefore(now.minusDays(syncConfig.getTombstoneRetentionDays()))) {
+            log.info("Sync watermark {} is past tombstone retention, client must resync", since);
+            return EmployeeChangesResponseDto.builder()
+                    .upserted(List.of())
+                    .deleted(List.of())
+                    .watermark(SyncWatermark.initial(horizon).encode())
+                    .resyncRequired(true)
+                    .build();
+        }
+
+        List<Employee> modified = employeeRepository.findModifiedAfter(
+                mark.updatedAt(), mark.updatedId(), horizon, PageRequest.of(0, pageSize));
+        List<EmployeeTombstone> tombstones = employeeTombstoneRepository.findDeletedAfter(
+                mark.deletedAt(), mark.deletedId(), horizon, PageRequest.of(0, pageSize));
+
+        boolean hasMore = modified.size() == pageSize || tombstones.size() == pageSize;
+
+        LocalDateTime updatedAt = mark.updatedAt();
+        long updatedId = mark.updatedId();
+        if (!modified.isEmpty()) {
+            Employee last = modified.get(modified.size() - 1);
+            updatedAt = last.getUpdatedAt();
+            updatedId = last.getId();
+        }
+
+        // once caught up, move the delete cursor to the horizon so quiet periods don't age it past retention
+        LocalDateTime deletedAt = horizon;
+        long deletedId = 0;
+        if (tombstones.size() == pageSize) {
+            EmployeeTombstone last = tombstones.get(tombstones.size() - 1);
+            deletedAt = last.getDeletedAt();
+            deletedId = last.getEmployeeId();
+        } else if (horizon.isBefore(mark.deletedAt())) {
+            deletedAt = mark.deletedAt();
+            deletedId = mark.deletedId();
+        }
+
+        return EmployeeChangesResponseDto.builder()
+                .upserted(modified.stream().map(this::toResponseDto).toList())
+                .deleted(tombstones.stream().map(EmployeeTombstone::getEmployeeId).toList())
+                .watermark(new SyncWatermark(updatedAt, updatedId, deletedAt, deletedId).encode())
+                .hasMore(hasMore)
+                .build();
+    }
+
+    @Scheduled(fixedDelay = 24 * 60 * 60 * 1000, initialDelay = 10 * 60 * 1000)
+    @Transactional
+    public void purgeTombstones() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(syncConfig.getTombstoneRetentionDays());
+        int deleted = employeeTombstoneRepository.deleteOlderThan(cutoff);
+        log.debug("Purged {} employee tombstones older than {}", deleted, cutoff);
+    }
+
+    // PATCH events only carry what changed, there is no loaded entity to describe
+    private Map<String, Object> patchPayload(Long id, long version, EmployeePatchRequestDto dto) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("id", id);
+        payload.put("version", version);
+        if (dto.getFullName() != null) {
+            payload.put("fullName", dto.getFullName());
+        }
+        if (dto.getEmail() != null) {
+            payload.put("email", dto.getEmail());
+        }
+        if (dto.getSalary() != null) {
+            payload.put("salary", dto.getSalary());
+        }
+        if (dto.getDepartmentId() != null) {
+            payload.put("departmentId", dto.getDepartmentId());
+        }
+        return payload;
+    }
+
+    private void validateSalary(BigDecimal salary) {
+        if (salary.compareTo(employeeConfig.getMinSalary()) < 0) {
+            log.warn("Salary {} is below minimum {}", salary, employeeConfig.getMinSalary());
+            throw new BadRequestException("Salary cannot be less than " + employeeConfig.getMinSalary());
+        }
+        if (salary.compareTo(employeeConfig.getMaxSalary()) > 0) {
+            log.warn("Salary {} exceeds maximum {}", salary, employeeConfig.getMaxSalary());
+            throw new BadRequestException("Salary cannot exceed " + employeeConfig.getMaxSalary());
+        }
+    }
+
     private EmployeeResponseDto toResponseDto(Employee employee){
         return new EmployeeResponseDto(
                 employee.getId(),
                 employee.getFullName(),
                 employee.getEmail(),
-                employee.getDepartment().getName()
+                employee.getDepartment().getName(),
+                employee.getVersion()
         );
     }
 
@@ -0,0 +1,91 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.config.OutboxConfig;
+import com.example.imbank.employee.dto.ChangeEventDto;
+import com.example.imbank.employee.entity.OutboxEvent;
+import com.example.imbank.employee.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Publishes committed outbox events in batches to HTTP subscribers. The SSE stream does not go through
+// the relay, each instance tails the outbox itself (EmployeeChangeStream).
+// Delivery is at-least-once - a failed batch stays unpublished and is retried on the next poll,
+// so consumers must tolerate duplicates (event ids are stable).
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxConfig outboxConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final RestClient restClient;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OutboxConfig outboxConfig,
+                       TransactionTemplate transactionTemplate,
+                       RestClient.Builder loadBalancedRestClientBuilder) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxConfig = outboxConfig;
+        this.transactionTemplate = transactionTemplate;
+        this.restClient = loadBalancedRestClientBuilder.build();
+    }
+
+    @Scheduled(fixedDelayString = "${imbank.outbox.poll-interval-ms:500}")
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> publishBatch());
+            } while (published != null && published == outboxConfig.getBatchSize());
+        } catch (RuntimeException ex) {
+            log.warn("Outbox relay failed, the batch will be retried: {}", ex.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelay = 60 * 60 * 1000, initialDelay = 5 * 60 * 1000)
+    public void purgePublished() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(outboxConfig.getRetentionHours());
+        Integer deleted = transactionTemplate.execute(status -> outboxEventRepository.deletePublishedBefore(cutoff));
+        log.debug("Purged {} published outbox events older than {}", deleted, cutoff);
+    }
+
+    private int publishBatch() {
+        List<OutboxEvent> events = outboxEventRepository.findUnpublishedForUpdate(
+                outboxConfig.getAggregateTypes(), PageRequest.of(0, outboxConfig.getBatchSize()));
+        if (events.isEmpty()) {
+            return 0;
+        }
+
+        List<ChangeEventDto> batch = events.stream().map(this::toDto).toList();
+
+        for (OutboxConfig.Subscriber subscriber : outboxConfig.getSubscribers()) {
+            // an exception rolls back markPublished, the row locks are released and the batch is retried
+            restClient.post()
+                    .uri("http://" + subscriber.getServiceId() + subscriber.getPath())
+                    .body(batch)
+                    .retrieve()
+                    .toBodilessEntity();
+        }
+
+        outboxEventRepository.markPublished(events.stream().map(OutboxEvent::getId).toList(), LocalDateTime.now());
+        log.debug("Published {} outbox events up to id {}", batch.size(), batch.get(batch.size() - 1).getId());
+        return events.size();
+    }
+
+    private ChangeEventDto toDto(OutboxEvent event) {
+        return new ChangeEventDto(
+                event.getId(),
+                event.getAggregateType(),
+                event.getAggregateId(),
+                event.getEventType(),
+                event.getPayload(),
+                event.getCreatedAt());
+    }
+}
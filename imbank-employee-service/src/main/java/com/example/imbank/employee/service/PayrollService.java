@@ -0,0 +1,10 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.dto.PayrollRunRequestDto;
+import com.example.imbank.employee.dto.PayrollRunResponseDto;
+
+public interface PayrollService {
+    PayrollRunResponseDto startRun(PayrollRunRequestDto payrollRunRequestDto);
+    PayrollRunResponseDto getRun(Long runId);
+    PayrollRunResponseDto resumeRun(Long runId);
+}
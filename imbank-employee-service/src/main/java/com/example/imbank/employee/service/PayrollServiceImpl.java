@@ -0,0 +1,273 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.config.PayrollConfig;
+import com.example.imbank.employee.dto.PayrollPartitionResponseDto;
+import com.example.imbank.employee.dto.PayrollRunRequestDto;
+import com.example.imbank.employee.dto.PayrollRunResponseDto;
+import com.example.imbank.employee.entity.PayrollPartition;
+import com.example.imbank.employee.entity.PayrollRun;
+import com.example.imbank.employee.entity.PayrollStatus;
+import com.example.imbank.employee.exception.BadRequestException;
+import com.example.imbank.employee.exception.DuplicateResourceException;
+import com.example.imbank.employee.exception.ResourceNotFoundException;
+import com.example.imbank.employee.repository.PayrollJdbcRepository;
+import com.example.imbank.employee.repository.PayrollJdbcRepository.IdRange;
+import com.example.imbank.employee.repository.PayrollJdbcRepository.PayrollLine;
+import com.example.imbank.employee.repository.PayrollJdbcRepository.SalaryRow;
+import com.example.imbank.employee.repository.PayrollPartitionRepository;
+import com.example.imbank.employee.repository.PayrollRunRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PayrollServiceImpl implements PayrollService {
+
+    private final PayrollRunRepository payrollRunRepository;
+    private final PayrollPartitionRepository payrollPartitionRepository;
+    private final PayrollJdbcRepository payrollJdbcRepository;
+    private final PayrollConfig payrollConfig;
+    private final TransactionTemplate transactionTemplate;
+
+    // runs executing in this instance, guards against a double resume
+    private final Set<Long> activeRuns = ConcurrentHashMap.newKeySet();
+    private final ExecutorService runExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @Override
+    public PayrollRunResponseDto startRun(PayrollRunRequestDto dto) {
+        log.info("Starting payroll run for period: {}", dto.getPeriod());
+
+        payrollRunRepository.findFirstByPeriodOrderByIdDesc(dto.getPeriod()).ifPresent(existing -> {
+            if (existing.getStatus() == PayrollStatus.COMPLETED) {
+                throw new DuplicateResourceException("Payroll run", "period", dto.getPeriod());
+            }
+            throw new BadRequestException("Payroll run " + existing.getId() + " for period " + dto.getPeriod()
+                    + " is " + existing.getStatus() + ", resume it instead");
+        });
+
+        PayrollRun run = transactionTemplate.execute(status -> createRun(dto.getPeriod()));
+        launch(run.getId());
+        return getRun(run.getId());
+    }
+
+    @Override
+    public PayrollRunResponseDto getRun(Long runId) {
+        PayrollRun run = findRun(runId);
+        List<PayrollPartition> partitions = payrollPartitionRepository.findByRunIdOrderByStartId(runId);
+
+        List<PayrollPartitionResponseDto> partitionDtos = partitions.stream()
+                .map(this::toPartitionDto)
+                .toList();
+
+        return PayrollRunResponseDto.builder()
+                .id(run.getId())
+                .period(run.getPeriod())
+                .status(run.getStatus())
+                .totalPartitions(partitions.size())
+                .completedPartitions(countByStatus(partitions, PayrollStatus.COMPLETED))
+                .failedPartitions(countByStatus(partitions, PayrollStatus.FAILED))
+                .processedEmployees(partitions.stream().mapToLong(PayrollPartition::getProcessedCount).sum())
+                .startedAt(run.getStartedAt())
+                .finishedAt(run.getFinishedAt())
+                .partitions(partitionDtos)
+                .build();
+    }
+
+    @Override
+    public PayrollRunResponseDto resumeRun(Long runId) {
+        PayrollRun run = findRun(runId);
+        if (run.getStatus() == PayrollStatus.COMPLETED) {
+            throw new BadRequestException("Payroll run " + runId + " is already completed");
+        }
+
+        log.info("Resuming payroll run {} from its partition checkpoints", runId);
+        launch(runId);
+        return getRun(runId);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        // interrupted partitions keep their last checkpoint and are picked up by a resume
+        runExecutor.shutdownNow();
+    }
+
+    private PayrollRun createRun(String period) {
+        PayrollRun run = new PayrollRun();
+        run.setPeriod(period);
+        run.setStatus(PayrollStatus.PENDING);
+        run.setPartitionSize(payrollConfig.getPartitionSize());
+        PayrollRun saved = payrollRunRepository.save(run);
+
+        IdRange range = payrollJdbcRepository.findEmployeeIdRange();
+        if (range.minId() == null) {
+            return saved;
+        }
+
+        List<PayrollPartition> partitions = new ArrayList<>();
+        for (long startId = range.minId(); startId <= range.maxId(); startId += payrollConfig.getPartitionSize()) {
+            PayrollPartition partition = new PayrollPartition();
+            partition.setRunId(saved.getId());
+            partition.setStartId(startId);
+            partition.setEndId(Math.min(startId + payrollConfig.getPartitionSize() - 1, range.maxId()));
+            partition.setStatus(PayrollStatus.PENDING);
+            partitions.add(partition);
+        }
+        payrollPartitionRepository.saveAll(partitions);
+
+        log.info("Payroll run {} created with {} partitions over ids [{}, {}]",
+                saved.getId(), partitions.size(), range.minId(), range.maxId());
+        return saved;
+    }
+
+    private void launch(Long runId) {
+        if (!activeRuns.add(runId)) {
+            throw new BadRequestException("Payroll run " + runId + " is already running");
+        }
+        runExecutor.submit(() -> {
+            try {
+                execute(runId);
+            } catch (RuntimeException ex) {
+                log.error("Payroll run {} aborted", runId, ex);
+            } finally {
+                activeRuns.remove(runId);
+            }
+        });
+    }
+
+    private void execute(Long runId) {
+        PayrollRun run = findRun(runId);
+        run.setStatus(PayrollStatus.RUNNING);
+        if (run.getStartedAt() == null) {
+            run.setStartedAt(LocalDateTime.now());
+        }
+        run.setFinishedAt(null);
+        payrollRunRepository.save(run);
+
+        List<PayrollPartition> remaining =
+                payrollPartitionRepository.findByRunIdAndStatusNotOrderByStartId(runId, PayrollStatus.COMPLETED);
+
+        // virtual thread per partition, the semaphore keeps DB concurrency below the pool size
+        Semaphore permits = new Semaphore(payrollConfig.getParallelism());
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PayrollPartition partition : remaining) {
+                workers.submit(() -> {
+                    permits.acquire();
+                    try {
+                        processPartition(runId, partition);
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        boolean incomplete = payrollPartitionRepository.findByRunIdOrderByStartId(runId).stream()
+                .anyMatch(partition -> partition.getStatus() != PayrollStatus.COMPLETED);
+
+        run.setStatus(incomplete ? PayrollStatus.FAILED : PayrollStatus.COMPLETED);
+        run.setFinishedAt(LocalDateTime.now());
+        payrollRunRepository.save(run);
+        log.info("Payroll run {} finished with status {}", runId, run.getStatus());
+    }
+
+    private void processPartition(Long runId, PayrollPartition partition) {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> payrollPartitionRepository.markRunning(partition.getId(), now));
+
+        long cursor = partition.getLastProcessedId() != null
+                ? partition.getLastProcessedId()
+                : partition.getStartId() - 1;
+        int pageSize = payrollConfig.getPageSize();
+
+        try {
+            List<SalaryRow> rows;
+            do {
+                rows = payrollJdbcRepository.findSalaryPage(cursor, partition.getEndId(), pageSize);
+                if (rows.isEmpty()) {
+                    break;
+                }
+
+                List<PayrollLine> lines = rows.stream().map(this::computeLine).toList();
+                long lastId = rows.get(rows.size() - 1).employeeId();
+
+                // lines and checkpoint commit together, so a resume never duplicates or skips rows
+                transactionTemplate.executeWithoutResult(status -> {
+                    payrollJdbcRepository.insertLines(runId, lines, now);
+                    payrollPartitionRepository.checkpoint(partition.getId(), lastId, lines.size());
+                });
+                cursor = lastId;
+            } while (rows.size() == pageSize);
+
+            finishPartition(partition, PayrollStatus.COMPLETED, null, start);
+            log.debug("Payroll partition [{}, {}] of run {} completed",
+                    partition.getStartId(), partition.getEndId(), runId);
+        } catch (RuntimeException ex) {
+            log.error("Payroll partition [{}, {}] of run {} failed after id {}",
+                    partition.getStartId(), partition.getEndId(), runId, cursor, ex);
+            finishPartition(partition, PayrollStatus.FAILED, truncate(ex.getMessage()), start);
+        }
+    }
+
+    private void finishPartition(PayrollPartition partition, PayrollStatus status, String error, long startNanos) {
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000;
+        transactionTemplate.executeWithoutResult(tx -> payrollPartitionRepository.finish(
+                partition.getId(), status, error, elapsedMs, LocalDateTime.now()));
+    }
+
+    private PayrollLine computeLine(SalaryRow row) {
+        BigDecimal gross = row.salary()
+                .divide(BigDecimal.valueOf(payrollConfig.getPeriodsPerYear()), 2, RoundingMode.HALF_EVEN);
+        BigDecimal tax = gross.multiply(payrollConfig.getTaxRate()).setScale(2, RoundingMode.HALF_EVEN);
+        return new PayrollLine(row.employeeId(), gross, tax, gross.subtract(tax));
+    }
+
+    private PayrollRun findRun(Long runId) {
+        return payrollRunRepository.findById(runId)
+                .orElseThrow(() -> {
+                    log.error("Payroll run not found with id: {}", runId);
+                    return new ResourceNotFoundException("Payroll run", "id", runId);
+                });
+    }
+
+    private PayrollPartitionResponseDto toPartitionDto(PayrollPartition partition) {
+        return new PayrollPartitionResponseDto(
+                partition.getId(),
+                partition.getStartId(),
+                partition.getEndId(),
+                partition.getStatus(),
+                partition.getProcessedCount(),
+                partition.getLastProcessedId(),
+                partition.getAttempts(),
+                partition.getElapsedMs(),
+                partition.getProcessedCount() * 1000L / Math.max(partition.getElapsedMs(), 1),
+                partition.getError());
+    }
+
+    private static int countByStatus(List<PayrollPartition> partitions, PayrollStatus status) {
+        return (int) partitions.stream().filter(partition -> partition.getStatus() == status).count();
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > 500 ? message.substring(0, 500) : message;
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.dto.SalaryAdjustmentRequestDto;
+import com.example.imbank.employee.dto.SalaryAdjustmentResultDto;
+
+public interface SalaryAdjustmentService {
+    SalaryAdjustmentResultDto adjustSalaries(SalaryAdjustmentRequestDto salaryAdjustmentRequestDto);
+    SalaryAdjustmentResultDto resumeRun(Long runId);
+}
@@ -0,0 +1,207 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.config.EmployeeConfig;
+import com.example.imbank.employee.dto.SalaryAdjustmentImpactView;
+import com.example.imbank.employee.dto.SalaryAdjustmentRequestDto;
+import com.example.imbank.employee.dto.SalaryAdjustmentResultDto;
+import com.example.imbank.employee.dto.SalaryAdjustmentType;
+import com.example.imbank.employee.entity.ChangeEventType;
+import com.example.imbank.employee.entity.OutboxEvent;
+import com.example.imbank.employee.entity.SalaryAdjustmentRun;
+import com.example.imbank.employee.entity.SalaryAdjustmentStatus;
+import com.example.imbank.employee.exception.BadRequestException;
+import com.example.imbank.employee.exception.ResourceNotFoundException;
+import com.example.imbank.employee.repository.EmployeeRepository;
+import com.example.imbank.employee.repository.SalaryAdjustmentRunRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Adjustments run window by window against a persisted run. Each window commits together with the run's
+// high-water mark, so a failure leaves a run that resumes after the last committed window and no
+// employee is ever adjusted twice.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SalaryAdjustmentServiceImpl implements SalaryAdjustmentService {
+
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final EmployeeRepository employeeRepository;
+    private final SalaryAdjustmentRunRepository salaryAdjustmentRunRepository;
+    private final EmployeeConfig employeeConfig;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxWriter outboxWriter;
+
+    @Override
+    public SalaryAdjustmentResultDto adjustSalaries(SalaryAdjustmentRequestDto dto) {
+        log.info("Salary adjustment requested: {} {} (department: {}, dryRun: {})",
+                dto.getType(), dto.getAmount(), dto.getDepartmentId(), dto.isDryRun());
+
+        if (dto.getType() == SalaryAdjustmentType.PERCENTAGE && dto.getAmount().compareTo(HUNDRED.negate()) <= 0) {
+            throw new BadRequestException("Percentage adjustment must be greater than -100");
+        }
+
+        BigDecimal floor = employeeConfig.getMinSalary();
+        BigDecimal ceiling = employeeConfig.getMaxSalary();
+
+        long start = System.nanoTime();
+        SalaryAdjustmentImpactView impact = employeeRepository.findSalaryAdjustmentImpact(
+                factor(dto.getType(), dto.getAmount()), delta(dto.getType(), dto.getAmount()), floor, ceiling,
+                dto.getDepartmentId(), dto.getMinCurrentSalary(), dto.getMaxCurrentSalary());
+
+        SalaryAdjustmentResultDto.SalaryAdjustmentResultDtoBuilder result = SalaryAdjustmentResultDto.builder()
+                .dryRun(dto.isDryRun())
+                .matchedEmployees(valueOrZero(impact.getMatched()))
+                .clampedEmployees(valueOrZero(impact.getClamped()))
+                .currentTotal(impact.getCurrentTotal())
+                .projectedTotal(impact.getProjectedTotal());
+
+        if (dto.isDryRun() || impact.getMinId() == null) {
+            return result.elapsedMs(elapsedMs(start)).build();
+        }
+
+        SalaryAdjustmentRun run = transactionTemplate.execute(status ->
+                createRun(dto, floor, ceiling, impact.getMinId(), impact.getMaxId()));
+        return execute(run, result, start);
+    }
+
+    @Override
+    public SalaryAdjustmentResultDto resumeRun(Long runId) {
+        SalaryAdjustmentRun run = findRun(runId);
+        Integer restarted = transactionTemplate.execute(status -> salaryAdjustmentRunRepository.markRunning(runId));
+        if (restarted == null || restarted == 0) {
+            throw new BadRequestException("Salary adjustment run " + runId + " is already completed");
+        }
+
+        log.info("Resuming salary adjustment run {} from employee id {}", runId, run.getNextId());
+        return execute(run, SalaryAdjustmentResultDto.builder(), System.nanoTime());
+    }
+
+    private SalaryAdjustmentRun createRun(SalaryAdjustmentRequestDto dto, BigDecimal floor, BigDecimal ceiling,
+                                          long minId, long maxId) {
+        SalaryAdjustmentRun run = new SalaryAdjustmentRun();
+        run.setType(dto.getType());
+        run.setAmount(dto.getAmount());
+        run.setDepartmentId(dto.getDepartmentId());
+        run.setMinCurrentSalary(dto.getMinCurrentSalary());
+        run.setMaxCurrentSalary(dto.getMaxCurrentSalary());
+        run.setSalaryFloor(floor);
+        run.setSalaryCeiling(ceiling);
+        run.setMaxId(maxId);
+        run.setNextId(minId);
+        run.setStatus(SalaryAdjustmentStatus.RUNNING);
+        run.setStartedAt(LocalDateTime.now());
+        return salaryAdjustmentRunRepository.save(run);
+    }
+
+    // one short transaction per id window, so no statement holds row locks for the whole table
+    private SalaryAdjustmentResultDto execute(SalaryAdjustmentRun run,
+                                              SalaryAdjustmentResultDto.SalaryAdjustmentResultDtoBuilder result,
+                                              long start) {
+        int chunkSize = employeeConfig.getBulkChunkSize();
+        BigDecimal factor = factor(run.getType(), run.getAmount());
+        BigDecimal delta = delta(run.getType(), run.getAmount());
+        long rowsAffected = 0;
+        SalaryAdjustmentStatus outcome = SalaryAdjustmentStatus.COMPLETED;
+        String error = null;
+
+        try {
+            for (long fromId = run.getNextId(); fromId <= run.getMaxId(); fromId += chunkSize) {
+                long windowStart = fromId;
+                long toId = Math.min(fromId + chunkSize - 1, run.getMaxId());
+
+                Integer updated = transactionTemplate.execute(status -> {
+                    // taken per chunk: delta sync expects a row to be visible soon after its updated_at
+                    LocalDateTime now = LocalDateTime.now();
+                    int rows = employeeRepository.adjustSalaries(
+                            windowStart, toId, factor, delta, run.getSalaryFloor(), run.getSalaryCeiling(),
+                            run.getDepartmentId(), run.getMinCurrentSalary(), run.getMaxCurrentSalary(), now);
+                    // rolls the window back if another request already moved the mark past it
+                    if (salaryAdjustmentRunRepository.checkpoint(run.getId(), windowStart, toId + 1, rows) == 0) {
+                        throw new IllegalStateException("Salary adjustment run " + run.getId()
+                                + " is being applied by another request");
+                    }
+                    if (rows > 0) {
+                        outboxWriter.append(OutboxEvent.EMPLOYEE, null, ChangeEventType.BULK_UPDATED,
+                                bulkPayload(run, windowStart, toId, rows));
+                    }
+                    return rows;
+                });
+
+                rowsAffected += updated != null ? updated : 0;
+                log.debug("Salary adjustment run {} chunk [{}, {}] updated {} rows",
+                        run.getId(), windowStart, toId, updated);
+            }
+        } catch (RuntimeException ex) {
+            // committed windows stay applied; the run's mark says where a resume continues
+            log.error("Salary adjustment run {} failed", run.getId(), ex);
+            outcome = SalaryAdjustmentStatus.FAILED;
+            error = ex.getMessage() != null && ex.getMessage().length() > 500
+                    ? ex.getMessage().substring(0, 500) : ex.getMessage();
+        }
+
+        SalaryAdjustmentStatus finalStatus = outcome;
+        String finalError = error;
+        transactionTemplate.executeWithoutResult(status ->
+                salaryAdjustmentRunRepository.finish(run.getId(), finalStatus, finalError, LocalDateTime.now()));
+
+        SalaryAdjustmentRun finished = findRun(run.getId());
+        long elapsedMs = elapsedMs(start);
+        log.info("Salary adjustment run {} {}: {} rows in {} chunks, {} ms", finished.getId(), finished.getStatus(),
+                finished.getRowsAffected(), finished.getChunks(), elapsedMs);
+
+        return result
+                .runId(finished.getId())
+                .status(finished.getStatus())
+                .nextId(finished.getNextId())
+                .error(finished.getError())
+                .rowsAffected(finished.getRowsAffected())
+                .chunks(finished.getChunks())
+                .elapsedMs(elapsedMs)
+                .rowsPerSecond(rowsAffected * 1000 / Math.max(elapsedMs, 1))
+                .build();
+    }
+
+    private SalaryAdjustmentRun findRun(Long runId) {
+        return salaryAdjustmentRunRepository.findById(runId)
+                .orElseThrow(() -> new ResourceNotFoundException("Salary adjustment run", "id", runId));
+    }
+
+    // new = salary * factor + delta, so both adjustment types share one statement
+    private static BigDecimal factor(SalaryAdjustmentType type, BigDecimal amount) {
+        return type == SalaryAdjustmentType.PERCENTAGE ? BigDecimal.ONE.add(amount.divide(HUNDRED)) : BigDecimal.ONE;
+    }
+
+    private static BigDecimal delta(SalaryAdjustmentType type, BigDecimal amount) {
+        return type == SalaryAdjustmentType.PERCENTAGE ? BigDecimal.ZERO : amount;
+    }
+
+    // one event per chunk instead of per row; consumers re-read the id window
+    private static Map<String, Object> bulkPayload(SalaryAdjustmentRun run, long fromId, long toId, int rows) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("field", "salary");
+        payload.put("fromId", fromId);
+        payload.put("toId", toId);
+        payload.put("rowsAffected", rows);
+        payload.put("departmentId", run.getDepartmentId());
+        payload.put("type", run.getType());
+        payload.put("amount", run.getAmount());
+        payload.put("runId", run.getId());
+        return payload;
+    }
+
+    private static long valueOrZero(Long value) {
+        return value != null ? value : 0;
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.imbank.employee.service;
+
+import com.example.imbank.employee.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Keyset positions in the upsert (updated_at, id) and tombstone (deleted_at, employee_id) streams,
+// handed to clients as an opaque token
+record SyncWatermark(LocalDateTime updatedAt, long updatedId, LocalDateTime deletedAt, long deletedId) {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    // first sync: every live row, and only deletes from now on
+    static SyncWatermark initial(LocalDateTime horizon) {
+        return new SyncWatermark(BEGINNING, 0, horizon, 0);
+    }
+
+    static SyncWatermark decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length != 4) {
+                throw new BadRequestException("Invalid sync watermark");
+            }
+            return new SyncWatermark(
+                    LocalDateTime.parse(parts[0]), Long.parseLong(parts[1]),
+                    LocalDateTime.parse(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new BadRequestException("Invalid sync watermark");
+        }
+    }
+
+    String encode() {
+        String raw = updatedAt + "|" + updatedId + "|" + deletedAt + "|" + deletedId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.imbank.employee.controller;
+
+import com.example.imbank.employee.entity.Department;
+import com.example.imbank.employee.entity.Employee;
+import com.example.imbank.employee.entity.Role;
+import com.example.imbank.employee.entity.User;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+import static com.example.imbank.observability.sql.StatementCountAssertions.assertStatementCount;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// findById joins the EAGER Employee.department, Employee.user and User.roles into the one select;
+// User.employee points back at the same row. Keep in step with imbank.sql.budgets
+// "[GET /api/employees/{id}]" in the config repo.
+@SpringBootTest
+@AutoConfigureMockMvc
+@WithMockUser
+class EmployeeControllerStatementCountTest {
+
+    private static final int GET_BY_ID_STATEMENTS = 1;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private long employeeId;
+
+    @BeforeEach
+    void seed() {
+        employeeId = transactionTemplate.execute(status -> {
+            Role admin = new Role();
+            admin.setName("ROLE_ADMIN");
+            entityManager.persist(admin);
+            Role user = new Role();
+            user.setName("ROLE_USER");
+            entityManager.persist(user);
+
+            User account = new User();
+            account.setUsername("jsmith");
+            account.setEmail("jsmith@imbank.test");
+            account.setPassword("{noop}secret");
+            account.setRoles(Set.of(admin, user));
+            entityManager.persist(account);
+
+            Department department = new Department();
+            department.setName("Treasury");
+            entityManager.persist(department);
+
+            Employee employee = new Employee();
+            employee.setFullName("John Smith");
+            employee.setEmail("john.smith@imbank.test");
+            employee.setSalary(new BigDecimal("50000"));
+            employee.setDepartment(department);
+            employee.setUser(account);
+            entityManager.persist(employee);
+            return employee.getId();
+        });
+    }
+
+    @Test
+    void getEmployeeByIdLoadsDepartmentAndUserInOneStatement() throws Exception {
+        assertStatementCount(GET_BY_ID_STATEMENTS, () -> mockMvc.perform(get("/api/employees/{id}", employeeId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.departmentName").value("Treasury")));
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.imbank.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+// HTTP Basic credentials Prometheus uses for /actuator/prometheus; each service's metrics security
+// chain reads them, a blank password keeps the endpoint closed
+@ConfigurationProperties(prefix = "imbank.metrics")
+public class MetricsProperties {
+    private String scrapeUsername = "prometheus";
+    private String scrapePassword;
+
+    public String getScrapeUsername() {
+        return scrapeUsername;
+    }
+
+    public void setScrapeUsername(String scrapeUsername) {
+        this.scrapeUsername = scrapeUsername;
+    }
+
+    public String getScrapePassword() {
+        return scrapePassword;
+    }
+
+    public void setScrapePassword(String scrapePassword) {
+        this.scrapePassword = scrapePassword;
+    }
+}
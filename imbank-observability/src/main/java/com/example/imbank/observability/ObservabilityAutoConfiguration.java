@@ -0,0 +1,66 @@
+package com.example.imbank.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+import java.util.Map;
+
+// Spans and meters beyond what Spring instruments on its own (HTTP in/out, JDBC connection):
+// repository calls, JSON serialization and a per-controller-method tag on http.server.requests.
+// Export goes over OTLP (management.opentelemetry.tracing.export.otlp.*); the Prometheus scrape
+// credentials (imbank.metrics.*) are bound here for the services' security chains.
+@AutoConfiguration
+@EnableConfigurationProperties(MetricsProperties.class)
+public class ObservabilityAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(RepositoryFactoryBeanSupport.class)
+    static class RepositoryObservationConfig {
+
+        // static: post-processors are created before regular beans
+        @Bean
+        public static ObservedRepositoryPostProcessor observedRepositoryPostProcessor(
+                ObjectProvider<ObservationRegistry> observationRegistry) {
+            return new ObservedRepositoryPostProcessor(observationRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class WebMvcObservationConfig {
+
+        @Bean
+        public ControllerMethodObservationConvention controllerMethodObservationConvention() {
+            return new ControllerMethodObservationConvention();
+        }
+
+        @Bean
+        public WebMvcConfigurer observedMessageConverterConfigurer(ObjectProvider<ObservationRegistry> observationRegistry) {
+            return new WebMvcConfigurer() {
+                @Override
+                public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+                    for (int i = 0; i < converters.size(); i++) {
+                        HttpMessageConverter<?> converter = converters.get(i);
+                        if (converter.canWrite(Map.class, MediaType.APPLICATION_JSON)) {
+                            // just ahead of the JSON converter, so byte[] / String bodies still go to their own converters
+                            converters.add(i, new ObservedMessageConverter(converter,
+                                    observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+                            return;
+                        }
+                    }
+                }
+            };
+        }
+    }
+}
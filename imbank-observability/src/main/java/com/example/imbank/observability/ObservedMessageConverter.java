@@ -0,0 +1,57 @@
+package com.example.imbank.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Write-only wrapper that times response serialization of the JSON converter it sits in front of.
+// Reads are left to the wrapped converter itself, which stays in the list right after this one.
+public class ObservedMessageConverter implements HttpMessageConverter<Object> {
+
+    private final HttpMessageConverter<Object> delegate;
+    private final ObservationRegistry observationRegistry;
+
+    @SuppressWarnings("unchecked")
+    public ObservedMessageConverter(HttpMessageConverter<?> delegate, ObservationRegistry observationRegistry) {
+        this.delegate = (HttpMessageConverter<Object>) delegate;
+        this.observationRegistry = observationRegistry;
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return delegate.canWrite(clazz, mediaType);
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes() {
+        return delegate.getSupportedMediaTypes();
+    }
+
+    @Override
+    public List<MediaType> getSupportedMediaTypes(Class<?> clazz) {
+        return delegate.getSupportedMediaTypes(clazz);
+    }
+
+    @Override
+    public Object read(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return delegate.read(clazz, inputMessage);
+    }
+
+    @Override
+    public void write(Object body, MediaType contentType, HttpOutputMessage outputMessage) throws IOException {
+        Observation.createNotStarted("http.response.serialization", observationRegistry)
+                .lowCardinalityKeyValue("type", body.getClass().getSimpleName())
+                .observeChecked(() -> delegate.write(body, contentType, outputMessage));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.imbank.observability.sql;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+
+// GET /actuator/slowqueries?limit=N - statement shapes with the worst p99 since startup
+@Endpoint(id = "slowqueries")
+public class SlowQueriesEndpoint {
+
+    private final StatementRecorder statementRecorder;
+    private final SqlProperties sqlProperties;
+
+    public SlowQueriesEndpoint(StatementRecorder statementRecorder, SqlProperties sqlProperties) {
+        this.statementRecorder = statementRecorder;
+        this.sqlProperties = sqlProperties;
+    }
+
+    @ReadOperation
+    public List<StatementStats.Summary> slowQueries(@Nullable Integer limit) {
+        return statementRecorder.slowest(limit != null ? limit : sqlProperties.getTopN());
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.imbank.observability.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.autoconfigure.endpoint.condition.ConditionalOnAvailableEndpoint;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+// Every statement through the application DataSource is timed per SQL shape (slow-query log,
+// /actuator/slowqueries, db.statement timer) and counted per request (budget and N+1 warnings).
+@AutoConfiguration
+@ConditionalOnClass({DataSource.class, ProxyDataSourceBuilder.class})
+@EnableConfigurationProperties(SqlProperties.class)
+public class SqlObservabilityAutoConfiguration {
+
+    // static: post-processors are created before regular beans
+    @Bean
+    public static ProxyDataSourcePostProcessor proxyDataSourcePostProcessor(
+            ObjectProvider<QueryExecutionListener> listeners) {
+        return new ProxyDataSourcePostProcessor(listeners);
+    }
+
+    @Bean
+    public StatementRecorder statementRecorder(SqlProperties sqlProperties, MeterRegistry meterRegistry) {
+        return new StatementRecorder(sqlProperties, meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnAvailableEndpoint
+    public SlowQueriesEndpoint slowQueriesEndpoint(StatementRecorder statementRecorder, SqlProperties sqlProperties) {
+        return new SlowQueriesEndpoint(statementRecorder, sqlProperties);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    static class StatementCountConfig {
+
+        @Bean
+        public StatementCountFilter statementCountFilter(SqlProperties sqlProperties, MeterRegistry meterRegistry) {
+            return new StatementCountFilter(sqlProperties, meterRegistry);
+        }
+    }
+}
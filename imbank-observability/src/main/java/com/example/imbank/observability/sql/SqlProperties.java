@@ -0,0 +1,80 @@
+package com.example.imbank.observability.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "imbank.sql")
+public class SqlProperties {
+    // statements at or above this are logged (shape only, never bound values)
+    private long slowThresholdMs = 200;
+    // distinct normalized statements tracked; later shapes are folded into one "other" entry
+    private int maxShapes = 1000;
+    private int topN = 20;
+
+    // statements one request may run before a warning; per-endpoint overrides are keyed by
+    // method and mapping pattern, e.g. "[GET /api/employees/{id}]": 3
+    private int requestBudget = 50;
+    private Map<String, Integer> budgets = new HashMap<>();
+    // the same statement shape this many times in one request is reported as a likely N+1
+    private int repeatThreshold = 10;
+    // X-SQL-Statement-Count on every response; for non-production profiles only
+    private boolean countHeader = false;
+
+    public long getSlowThresholdMs() {
+        return slowThresholdMs;
+    }
+
+    public void setSlowThresholdMs(long slowThresholdMs) {
+        this.slowThresholdMs = slowThresholdMs;
+    }
+
+    public int getMaxShapes() {
+        return maxShapes;
+    }
+
+    public void setMaxShapes(int maxShapes) {
+        this.maxShapes = maxShapes;
+    }
+
+    public int getTopN() {
+        return topN;
+    }
+
+    public void setTopN(int topN) {
+        this.topN = topN;
+    }
+
+    public int getRequestBudget() {
+        return requestBudget;
+    }
+
+    public void setRequestBudget(int requestBudget) {
+        this.requestBudget = requestBudget;
+    }
+
+    public Map<String, Integer> getBudgets() {
+        return budgets;
+    }
+
+    public void setBudgets(Map<String, Integer> budgets) {
+        this.budgets = budgets;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+
+    public boolean isCountHeader() {
+        return countHeader;
+    }
+
+    public void setCountHeader(boolean countHeader) {
+        this.countHeader = countHeader;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.imbank.observability.sql;
+
+import java.util.regex.Pattern;
+
+// Reduces a SQL string to its shape: literals become ?, IN lists of any length become (?), and
+// whitespace is collapsed, so one query issued with different values or list sizes is counted once.
+final class SqlShapes {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlShapes() {
+    }
+
+    static String normalize(String sql) {
+        String shape = STRING_LITERAL.matcher(sql).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        shape = PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+        return WHITESPACE.matcher(shape).replaceAll(" ").trim();
+    }
+
+    // select / insert / update / delete / other, for low-cardinality meter tags
+    static String type(String shape) {
+        int end = shape.indexOf(' ');
+        String keyword = (end > 0 ? shape.substring(0, end) : shape).toLowerCase();
+        return switch (keyword) {
+            case "select", "with" -> "select";
+            case "insert", "update", "delete" -> keyword;
+            default -> "other";
+        };
+    }
+}
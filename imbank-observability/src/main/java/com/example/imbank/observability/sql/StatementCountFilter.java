@@ -0,0 +1,135 @@
+package com.example.imbank.observability.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+
+// Counts the SQL statements behind each request. Over the endpoint's budget, or with one statement
+// shape repeated past the threshold (usually a lazy association loaded per row), a WARN names the
+// endpoint and the repeated shape. db.statements.per.request keeps the distribution per endpoint.
+public class StatementCountFilter extends OncePerRequestFilter implements Ordered {
+
+    public static final String COUNT_HEADER = "X-SQL-Statement-Count";
+
+    private static final Logger log = LoggerFactory.getLogger(StatementCountFilter.class);
+
+    private final SqlProperties sqlProperties;
+    private final MeterRegistry meterRegistry;
+
+    public StatementCountFilter(SqlProperties sqlProperties, MeterRegistry meterRegistry) {
+        this.sqlProperties = sqlProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ahead of Spring Security, so statements run while authenticating are counted too
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            HttpServletResponse target = sqlProperties.isCountHeader() ? new CountHeaderResponse(response, scope) : response;
+            try {
+                filterChain.doFilter(request, target);
+            } finally {
+                if (target instanceof CountHeaderResponse counted) {
+                    // bodiless responses never touch the output stream
+                    counted.addCountHeader();
+                }
+                check(request, scope);
+            }
+        }
+    }
+
+    private void check(HttpServletRequest request, StatementCounter.Scope scope) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            // static resources, actuator, requests rejected before dispatch
+            return;
+        }
+        String endpoint = request.getMethod() + " " + pattern;
+        DistributionSummary.builder("db.statements.per.request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.total());
+
+        int budget = sqlProperties.getBudgets().getOrDefault(endpoint, sqlProperties.getRequestBudget());
+        if (scope.total() > budget) {
+            log.warn("SQL budget exceeded on {}: {} statements (budget {})", endpoint, scope.total(), budget);
+        }
+        scope.mostRepeated()
+                .filter(entry -> entry.getValue() >= sqlProperties.getRepeatThreshold())
+                .ifPresent(entry -> log.warn("Possible N+1 on {}: {} executions of {}",
+                        endpoint, entry.getValue(), entry.getKey()));
+    }
+
+    // sets the header when the body starts, the last moment headers can still change
+    private static final class CountHeaderResponse extends HttpServletResponseWrapper {
+
+        private final StatementCounter.Scope scope;
+        private boolean headerAdded;
+
+        CountHeaderResponse(HttpServletResponse response, StatementCounter.Scope scope) {
+            super(response);
+            this.scope = scope;
+        }
+
+        void addCountHeader() {
+            if (!headerAdded && !isCommitted()) {
+                setHeader(COUNT_HEADER, Integer.toString(scope.total()));
+            }
+            headerAdded = true;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            addCountHeader();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            addCountHeader();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            addCountHeader();
+            super.flushBuffer();
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            addCountHeader();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            addCountHeader();
+            super.sendError(sc);
+        }
+    }
+}
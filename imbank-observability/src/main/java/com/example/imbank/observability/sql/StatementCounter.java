@@ -0,0 +1,62 @@
+package com.example.imbank.observability.sql;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+// Counts the statements run on the current thread while a scope is open. StatementCountFilter opens
+// one per request and StatementCountAssertions one per assertion; scopes nest, an inner statement is
+// counted by every enclosing scope. Work handed to other threads (@Async, executors) is not counted.
+public final class StatementCounter {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private StatementCounter() {
+    }
+
+    public static Scope open() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    static void record(String shape) {
+        for (Scope scope = CURRENT.get(); scope != null; scope = scope.parent) {
+            scope.total++;
+            scope.shapes.merge(shape, 1, Integer::sum);
+        }
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final Map<String, Integer> shapes = new HashMap<>();
+        private int total;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+
+        public int total() {
+            return total;
+        }
+
+        // shape -> executions, for reading which statement a count came from
+        public Map<String, Integer> shapes() {
+            return Map.copyOf(shapes);
+        }
+
+        public Optional<Map.Entry<String, Integer>> mostRepeated() {
+            return shapes.entrySet().stream().max(Map.Entry.comparingByValue());
+        }
+
+        @Override
+        public void close() {
+            if (parent != null) {
+                CURRENT.set(parent);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
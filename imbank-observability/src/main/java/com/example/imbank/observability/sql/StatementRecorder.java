@@ -0,0 +1,92 @@
+package com.example.imbank.observability.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Receives every JDBC execution from the proxied DataSource: keeps per-shape latency percentiles for
+// the slowqueries endpoint, feeds a db.statement timer per statement type and the per-request
+// StatementCounter, and logs statements over the slow threshold. Only shapes are logged, bound
+// values never leave the driver.
+public class StatementRecorder implements QueryExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementRecorder.class);
+
+    private static final String START_NANOS = "imbank.startNanos";
+    private static final String OTHER_SHAPE = "(other statements)";
+
+    private final SqlProperties sqlProperties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StatementStats> stats = new ConcurrentHashMap<>();
+    // raw SQL -> shape; Hibernate reuses the same strings, so normalizing once per string is enough
+    private final Map<String, String> shapes = new ConcurrentHashMap<>();
+
+    public StatementRecorder(SqlProperties sqlProperties, MeterRegistry meterRegistry) {
+        this.sqlProperties = sqlProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+
+        for (QueryInfo queryInfo : queryInfoList) {
+            String shape = shape(queryInfo.getQuery());
+            statsFor(shape).record(micros);
+            StatementCounter.record(shape);
+            Timer.builder("db.statement")
+                    .tag("type", SqlShapes.type(shape))
+                    .tag("outcome", execInfo.isSuccess() ? "success" : "error")
+                    .register(meterRegistry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            if (micros >= sqlProperties.getSlowThresholdMs() * 1000) {
+                log.warn("Slow SQL ({} ms, batch size {}): {}", micros / 1000, execInfo.getBatchSize(), shape);
+            }
+        }
+    }
+
+    public List<StatementStats.Summary> slowest(int limit) {
+        return stats.values().stream()
+                .map(StatementStats::summary)
+                .sorted(Comparator.comparingDouble(StatementStats.Summary::p99Ms).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private String shape(String sql) {
+        String shape = shapes.get(sql);
+        if (shape == null) {
+            shape = SqlShapes.normalize(sql);
+            if (shapes.size() < sqlProperties.getMaxShapes() * 4) {
+                shapes.put(sql, shape);
+            }
+        }
+        return shape;
+    }
+
+    private StatementStats statsFor(String shape) {
+        StatementStats existing = stats.get(shape);
+        if (existing != null) {
+            return existing;
+        }
+        String key = stats.size() < sqlProperties.getMaxShapes() ? shape : OTHER_SHAPE;
+        return stats.computeIfAbsent(key, StatementStats::new);
+    }
+}
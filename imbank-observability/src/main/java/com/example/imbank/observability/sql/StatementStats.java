@@ -0,0 +1,79 @@
+package com.example.imbank.observability.sql;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Latency distribution of one SQL shape. Buckets are quarter powers of two of microseconds, so a
+// percentile is accurate to about 19% across 1us .. hours with fixed memory and no locking.
+public final class StatementStats {
+
+    private static final int BUCKETS = 128;
+    private static final double LOG2 = Math.log(2);
+
+    private final String shape;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    StatementStats(String shape) {
+        this.shape = shape;
+    }
+
+    void record(long micros) {
+        count.increment();
+        totalMicros.add(micros);
+        maxMicros.accumulate(micros);
+        buckets.incrementAndGet(bucket(micros));
+    }
+
+    public Summary summary() {
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        long executions = count.sum();
+        return new Summary(
+                shape,
+                executions,
+                executions == 0 ? 0 : totalMicros.sum() / 1000.0 / executions,
+                percentileMillis(snapshot, total, 0.50),
+                percentileMillis(snapshot, total, 0.95),
+                percentileMillis(snapshot, total, 0.99),
+                maxMicros.get() / 1000.0,
+                totalMicros.sum() / 1000.0);
+    }
+
+    private static double percentileMillis(long[] snapshot, long total, double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return upperBoundMicros(i) / 1000.0;
+            }
+        }
+        return upperBoundMicros(BUCKETS - 1) / 1000.0;
+    }
+
+    private static int bucket(long micros) {
+        if (micros <= 1) {
+            return 0;
+        }
+        return Math.min(BUCKETS - 1, (int) (Math.log(micros) / LOG2 * 4));
+    }
+
+    private static double upperBoundMicros(int bucket) {
+        return Math.pow(2, (bucket + 1) / 4.0);
+    }
+
+    public record Summary(String shape, long count, double meanMs, double p50Ms, double p95Ms, double p99Ms,
+                          double maxMs, double totalMs) {
+    }
+}
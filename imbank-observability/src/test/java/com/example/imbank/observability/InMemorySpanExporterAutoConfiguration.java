@@ -0,0 +1,18 @@
+package com.example.imbank.observability;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+// Shipped in the test-jar: service tests that set imbank.tracing.in-memory-exporter=true read their
+// finished spans from this exporter.
+@AutoConfiguration
+@ConditionalOnProperty(name = "imbank.tracing.in-memory-exporter", havingValue = "true")
+public class InMemorySpanExporterAutoConfiguration {
+
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+}
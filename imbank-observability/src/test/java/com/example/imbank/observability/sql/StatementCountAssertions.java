@@ -0,0 +1,48 @@
+package com.example.imbank.observability.sql;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+// Pins the number of statements behind a piece of code, so an N+1 fails a test instead of reaching
+// production. Works around a MockMvc call as well, which runs the controller on the calling thread:
+//
+//   StatementCountAssertions.assertStatementCount(1, () -> mockMvc.perform(get("/api/employees/1")));
+//
+// Shipped in this module's test-jar; services depend on it with <type>test-jar</type>, test scope.
+//
+// Against a running server, read the X-SQL-Statement-Count response header instead.
+public final class StatementCountAssertions {
+
+    private StatementCountAssertions() {
+    }
+
+    public static <T> T assertStatementCount(int expected, Callable<T> action) throws Exception {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            T result = action.call();
+            if (scope.total() != expected) {
+                throw new AssertionError("Expected " + expected + " SQL statements but " + scope.total()
+                        + " were executed: " + describe(scope.shapes()));
+            }
+            return result;
+        }
+    }
+
+    public static <T> T assertMaxStatementCount(int max, Callable<T> action) throws Exception {
+        try (StatementCounter.Scope scope = StatementCounter.open()) {
+            T result = action.call();
+            if (scope.total() > max) {
+                throw new AssertionError("Expected at most " + max + " SQL statements but " + scope.total()
+                        + " were executed: " + describe(scope.shapes()));
+            }
+            return result;
+        }
+    }
+
+    private static String describe(Map<String, Integer> shapes) {
+        StringBuilder description = new StringBuilder();
+        shapes.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> description.append("\n  ").append(entry.getValue()).append("x ").append(entry.getKey()));
+        return description.toString();
+    }
+}